@@ -0,0 +1,96 @@
+package org.wrk.date.forecast;
+
+import java.util.Calendar;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <h3>ForecastDateBenchmark</h3>
+ * <p>
+ * Throughput of one ForecastDate instance shared by every benchmark thread.<br>
+ * Run with -t to choose the thread count or use ForecastScalingBenchmark to sweep 1..64 threads.
+ * </p>
+ * @author Kelly Willard
+ * @see org.wrk.date.forecast.ForecastScalingBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForecastDateBenchmark {
+	private ForecastDate forecastDate;
+
+	/**
+	 * <p>Per thread input dates.</p>
+	 */
+	@State(Scope.Thread)
+	public static class Dates {
+		private static final int SIZE = 1024;
+
+		private final Calendar[] dates = new Calendar[SIZE];
+
+		private final int[] epochDays = new int[SIZE];
+
+		private int index = 0;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			SplittableRandom random = new SplittableRandom(Thread.currentThread().getId());
+
+			// Future dates over the next ten years.
+			for(int position=0; position < SIZE; position++) {
+				Calendar date = Calendar.getInstance();
+				date.add(Calendar.DAY_OF_MONTH, 1 + random.nextInt(3650));
+
+				dates[position] = date;
+				epochDays[position] = EpochDays.of(date);
+			}
+		}
+
+		Calendar nextDate() {
+			return dates[index++ & (SIZE - 1)];
+		}
+
+		int nextEpochDay() {
+			return epochDays[index++ & (SIZE - 1)];
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		int year = Calendar.getInstance().get(Calendar.YEAR);
+
+		forecastDate = new ForecastDate();
+		forecastDate.precompute(year, year + 20);
+	}
+
+	@Benchmark
+	public Calendar forecastDate(Dates dates) {
+		return forecastDate.forecastDate(dates.nextDate(), ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.BEFORE);
+	}
+
+	@Benchmark
+	public List<Calendar> forecastDateOverPeriod(Dates dates) {
+		return forecastDate.forecastDateOverPeriod(dates.nextDate(), ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.AFTER, 10);
+	}
+
+	@Benchmark
+	public int forecastEpochDay(Dates dates) {
+		return forecastDate.forecastEpochDay(dates.nextEpochDay(), ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.BEFORE);
+	}
+}
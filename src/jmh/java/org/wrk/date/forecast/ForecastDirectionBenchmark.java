@@ -0,0 +1,90 @@
+package org.wrk.date.forecast;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <h3>ForecastDirectionBenchmark</h3>
+ * <p>
+ * Compares the NEAREST and MODIFIED_FOLLOWING directions against the previous workaround of calling forecastDate
+ * once BEFORE and once AFTER and comparing the results.  Inputs are every day of a year so weekends, holidays and
+ * month ends are all represented.
+ * </p>
+ * @author Kelly Willard
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ForecastDirectionBenchmark {
+	private static final int SIZE = 512;
+
+	private final Calendar[] dates = new Calendar[SIZE];
+
+	private ForecastDate forecastDate;
+
+	private int index = 0;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		forecastDate = new ForecastDate();
+
+		Calendar date = forecastDate.deleteTimestamp(Calendar.getInstance());
+		date.add(Calendar.YEAR, 1);
+
+		for(int position=0; position < SIZE; position++) {
+			dates[position] = (Calendar) date.clone();
+			date.add(Calendar.DAY_OF_MONTH, 1);
+		}
+	}
+
+	private Calendar next() {
+		return dates[index++ & (SIZE - 1)];
+	}
+
+	@Benchmark
+	public Calendar nearest() {
+		return forecastDate.forecastDate(this.next(), ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.NEAREST);
+	}
+
+	@Benchmark
+	public Calendar nearestTwoCalls() {
+		Calendar date = this.next();
+
+		Calendar before = forecastDate.forecastDate(date, ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.BEFORE);
+		Calendar after = forecastDate.forecastDate(date, ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.AFTER);
+
+		long day = forecastDate.deleteTimestamp((Calendar) date.clone()).getTimeInMillis();
+
+		return day - before.getTimeInMillis() <= after.getTimeInMillis() - day ? before : after;
+	}
+
+	@Benchmark
+	public Calendar modifiedFollowing() {
+		return forecastDate.forecastDate(this.next(), ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.MODIFIED_FOLLOWING);
+	}
+
+	@Benchmark
+	public Calendar modifiedFollowingTwoCalls() {
+		Calendar date = this.next();
+
+		Calendar after = forecastDate.forecastDate(date, ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.AFTER);
+
+		return after.get(Calendar.MONTH) == date.get(Calendar.MONTH) ? after
+				: forecastDate.forecastDate(date, ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.BEFORE);
+	}
+}
@@ -0,0 +1,86 @@
+package org.wrk.date.forecast;
+
+import java.util.Calendar;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <h3>ForecastHolidayDensityBenchmark</h3>
+ * <p>
+ * Holiday year lookups across holiday densities, from a sparse corporate calendar to one closed half the year.<br>
+ * The bitset answers in constant time, so every density should cost the same.  Each year is built from random holidays and queried on random days of its window, the way
+ * forecasts of unrelated dates query it, and on consecutive days, the way a walk queries it.
+ * </p>
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="ForecastHolidayDensityBenchmark"
+ * </pre>
+ * @author Kelly Willard
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ForecastHolidayDensityBenchmark {
+	private static final int SIZE = 1024;
+
+	@Param({ "6", "11", "24", "52", "104", "180" })
+	private int holidays;
+
+	private final int[] days = new int[SIZE];
+
+	private HolidayYear holidayYear;
+
+	private int index = 0;
+
+	private int day;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(42L);
+
+		int year = Calendar.getInstance().get(Calendar.YEAR);
+		int first = EpochDays.of(year, Calendar.JANUARY, 1);
+
+		int[] epochDays = new int[holidays];
+		for(int position=0; position < holidays; position++) {
+			epochDays[position] = first + random.nextInt(365);
+		}
+
+		holidayYear = HolidayYear.of(year, epochDays);
+
+		for(int position=0; position < SIZE; position++) {
+			days[position] = first + random.nextInt(365);
+		}
+
+		day = first;
+	}
+
+	@Benchmark
+	public boolean randomDay() {
+		return holidayYear.isHoliday(days[index++ & (SIZE - 1)]);
+	}
+
+	@Benchmark
+	public boolean consecutiveDay() {
+		boolean response = holidayYear.isHoliday(day);
+
+		day = holidayYear.covers(day + 1) ? day + 1 : holidayYear.getFirstEpochDay();
+
+		return response;
+	}
+}
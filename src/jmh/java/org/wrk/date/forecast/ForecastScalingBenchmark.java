@@ -0,0 +1,66 @@
+package org.wrk.date.forecast;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <h3>ForecastScalingBenchmark</h3>
+ * <p>
+ * Runs ForecastDateBenchmark at 1, 2, 4 ... 64 threads and reports the throughput of each benchmark per thread
+ * count together with its scaling efficiency against the single thread result.<br>
+ * An efficiency well below 1.0 while threads &lt;= cores points at contention on the shared instance.
+ * </p>
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.main=org.wrk.date.forecast.ForecastScalingBenchmark [-Djmh.args=64]
+ * </pre>
+ * @author Kelly Willard
+ */
+public class ForecastScalingBenchmark {
+
+	/**
+	 * @param args optional maximum thread count, default 64.
+	 * @throws RunnerException
+	 */
+	public static void main(String[] args) throws RunnerException {
+		int maxThreads = 0 < args.length ? Integer.parseInt(args[0]) : 64;
+		int cores = Runtime.getRuntime().availableProcessors();
+
+		// Benchmark -> threads -> ops/ms
+		Map<String, Map<Integer, Double>> scores = new TreeMap<>();
+
+		for(int threads=1; threads <= maxThreads; threads *= 2) {
+			Options options = new OptionsBuilder()
+					.include(ForecastDateBenchmark.class.getSimpleName())
+					.threads(threads)
+					.build();
+
+			Collection<RunResult> results = new Runner(options).run();
+
+			for(RunResult result : results) {
+				String benchmark = result.getParams().getBenchmark();
+				benchmark = benchmark.substring(benchmark.lastIndexOf('.') + 1);
+
+				scores.computeIfAbsent(benchmark, key -> new TreeMap<>()).put(threads, result.getPrimaryResult().getScore());
+			}
+		}
+
+		System.out.println(String.format("%nScaling on %d cores (ops/ms, efficiency = score / (single thread score * min(threads, cores)))", cores));
+
+		scores.forEach((benchmark, byThreads) -> {
+			double single = byThreads.getOrDefault(1, 0.0);
+
+			byThreads.forEach((threads, score) -> {
+				double efficiency = 0 < single ? score / (single * Math.min(threads, cores)) : 0;
+
+				System.out.println(String.format("%-24s %3d threads %14.1f ops/ms %6.2f", benchmark, threads, score, efficiency));
+			});
+		});
+	}
+}
@@ -0,0 +1,95 @@
+package org.wrk.date.forecast;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <h3>ForecastSortedBatchBenchmark</h3>
+ * <p>
+ * Compares the sorted sweep with forecasting the same batch date by date.  The batch resembles a ledger export:
+ * random dates over ten years, sorted.  The shuffled benchmark shows the unsorted path through forecastEpochDays,
+ * including the failed sortedness check.
+ * </p>
+ * @author Kelly Willard
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ForecastSortedBatchBenchmark {
+
+	@Param({ "1024", "1048576" })
+	private int size;
+
+	private ForecastDate forecastDate;
+
+	private int[] sorted;
+
+	private int[] shuffled;
+
+	private int[] results;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		forecastDate = new ForecastDate();
+
+		SplittableRandom random = new SplittableRandom(39L);
+
+		int year = Calendar.getInstance().get(Calendar.YEAR);
+		int first = forecastDate.toEpochDay(year, Calendar.JANUARY, 1);
+
+		sorted = new int[size];
+		for(int index=0; index < size; index++) {
+			sorted[index] = first + random.nextInt(3652);
+		}
+
+		shuffled = sorted.clone();
+		Arrays.sort(sorted);
+
+		results = new int[size];
+
+		// Both paths start with the tables computed.
+		forecastDate.precompute(year - 1, year + 11);
+		forecastDate.getHolidayTable(year - 1, year + 11);
+	}
+
+	@Benchmark
+	public int[] sortedSweep() {
+		forecastDate.forecastSortedEpochDays(sorted, 0, size, results, ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.BEFORE);
+
+		return results;
+	}
+
+	@Benchmark
+	public int[] sortedDateByDate() {
+		for(int index=0; index < size; index++) {
+			results[index] = forecastDate.forecastEpochDay(sorted[index], ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.BEFORE);
+		}
+
+		return results;
+	}
+
+	@Benchmark
+	public int[] shuffledBatch() {
+		forecastDate.forecastEpochDays(shuffled, 0, size, results, ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.BEFORE);
+
+		return results;
+	}
+}
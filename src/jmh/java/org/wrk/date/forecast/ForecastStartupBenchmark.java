@@ -0,0 +1,59 @@
+package org.wrk.date.forecast;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <h3>ForecastStartupBenchmark</h3>
+ * <p>
+ * Cold start cost of a ForecastDate with eager and lazy holiday initialization.  Every measurement is a single shot
+ * in a fresh JVM so class loading and the first holiday computation are included.
+ * </p>
+ * <li>construct: constructor only, i.e. application startup.
+ * <li>constructAndFirstForecast: constructor followed by the first forecast, i.e. first-call latency.
+ * @author Kelly Willard
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+@State(Scope.Benchmark)
+public class ForecastStartupBenchmark {
+	@Param({ "false", "true" })
+	private boolean lazyHolidays;
+
+	private Calendar date;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		// Build the input without touching ForecastDate.
+		date = Calendar.getInstance();
+		date.add(Calendar.YEAR, 1);
+		date.set(date.get(Calendar.YEAR), Calendar.DECEMBER, 25, 0, 0, 0);
+		date.set(Calendar.MILLISECOND, 0);
+	}
+
+	@Benchmark
+	public ForecastDate construct() {
+		return new ForecastDate(null, lazyHolidays);
+	}
+
+	@Benchmark
+	public Calendar constructAndFirstForecast() {
+		return new ForecastDate(null, lazyHolidays).forecastDate(date, ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.BEFORE);
+	}
+}
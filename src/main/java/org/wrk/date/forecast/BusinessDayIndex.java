@@ -0,0 +1,296 @@
+package org.wrk.date.forecast;
+
+import java.util.Calendar;
+import java.util.stream.IntStream;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <h3>BusinessDayIndex</h3>
+ * <p>
+ * Immutable business day calendar for a forecast criteria over a contiguous range of years.<br>
+ * A business day is a day that does not meet the criteria, e.g. neither a holiday nor a weekend day for ALL_CRITERIA.
+ * </p>
+ * <p>
+ * Each month is held as a 31 bit bitmap of its business days together with the running count of business days
+ * before the month.  Counts over any range are answered in constant time and listings in time proportional to the
+ * result, returned as primitive epoch day arrays.  Dates outside the range of years are never business days.
+ * </p>
+ * <h4>Example:</h4>
+ * <pre>
+ * BusinessDayIndex index = forecastDate.getBusinessDayIndex(ForecastCriteriaEnum.ALL_CRITERIA, 2025, 2035);
+ * int days = index.countBusinessDaysInMonth(2026, Calendar.MARCH);
+ * int payday = index.lastBusinessDayOfMonth(2026, Calendar.MARCH);
+ * </pre>
+ * @author Kelly Willard
+ * @see org.wrk.date.forecast.ForecastCriteriaEnum
+ */
+public final class BusinessDayIndex {
+	// Returned when a requested business day does not exist.
+	public static final int NONE = Integer.MIN_VALUE;
+
+	@Getter @Setter(AccessLevel.NONE) private final ForecastCriteriaEnum criteria;
+
+	@Getter @Setter(AccessLevel.NONE) private final int firstYear;
+
+	@Getter @Setter(AccessLevel.NONE) private final int lastYear;
+
+	@Getter @Setter(AccessLevel.NONE) private final int firstEpochDay;
+
+	@Getter @Setter(AccessLevel.NONE) private final int lastEpochDay;
+
+	// Business days of each month, bit 0 is the first day of the month.
+	private final int[] monthBits;
+
+	// Business days before each month, one extra entry for the end of the range.
+	private final int[] monthCounts;
+
+	/**
+	 * <p>constructor</p>
+	 * @param criteria
+	 * @param firstYear
+	 * @param lastYear
+	 * @param monthBits
+	 */
+	private BusinessDayIndex(ForecastCriteriaEnum criteria, int firstYear, int lastYear, int[] monthBits) {
+		this.criteria = criteria;
+		this.firstYear = firstYear;
+		this.lastYear = lastYear;
+		this.firstEpochDay = EpochDays.of(firstYear, Calendar.JANUARY, 1);
+		this.lastEpochDay = EpochDays.of(lastYear, Calendar.DECEMBER, 31);
+		this.monthBits = monthBits;
+		this.monthCounts = new int[monthBits.length + 1];
+
+		for(int month=0; month < monthBits.length; month++) {
+			monthCounts[month + 1] = monthCounts[month] + Integer.bitCount(monthBits[month]);
+		}
+	}
+
+	/**
+	 * <p>Build the index.  Each year is evaluated once and the years are evaluated in parallel.</p>
+	 * @param forecastDate supplies the holidays.
+	 * @param criteria days meeting the criteria are not business days.
+	 * @param firstYear
+	 * @param lastYear
+	 * @return BusinessDayIndex
+	 */
+	public static BusinessDayIndex of(ForecastDate forecastDate, ForecastCriteriaEnum criteria, int firstYear, int lastYear) {
+		int first = Math.min(firstYear, lastYear);
+		int last = Math.max(firstYear, lastYear);
+
+		int[] monthBits = new int[(last - first + 1) * 12];
+
+		IntStream.rangeClosed(first, last).parallel().forEach(year -> {
+			for(int month=Calendar.JANUARY; month <= Calendar.DECEMBER; month++) {
+				int firstDay = EpochDays.of(year, month, 1);
+				int length = EpochDays.lengthOfMonth(year, month);
+				int bits = 0;
+
+				for(int day=0; day < length; day++) {
+					if(forecastDate.isBusinessDay(firstDay + day, criteria)) {
+						bits |= 1 << day;
+					}
+				}
+
+				monthBits[(year - first) * 12 + month] = bits;
+			}
+		});
+
+		return new BusinessDayIndex(criteria, first, last, monthBits);
+	}
+
+	/**
+	 * @param year
+	 * @param month Calendar.JANUARY..Calendar.DECEMBER
+	 * @return position of the month in the index else -1 if outside the range.
+	 */
+	private int monthIndex(int year, int month) {
+		return firstYear <= year && year <= lastYear && Calendar.JANUARY <= month && month <= Calendar.DECEMBER ? (year - firstYear) * 12 + month : -1;
+	}
+
+	/**
+	 * @param epochDay
+	 * @return business days from the start of the range through the epoch day.
+	 */
+	private int countThrough(int epochDay) {
+		int response;
+
+		if(epochDay < firstEpochDay) {
+			response = 0;
+		}
+		else if(lastEpochDay <= epochDay) {
+			response = monthCounts[monthBits.length];
+		}
+		else {
+			int civil = EpochDays.civil(epochDay);
+			int month = this.monthIndex(civil >> 9, (civil >>> 5) & 0xF);
+			int dayOfMonth = civil & 0x1F;
+
+			response = monthCounts[month] + Integer.bitCount(monthBits[month] & (int) ((1L << dayOfMonth) - 1));
+		}
+
+		return response;
+	}
+
+	/**
+	 * <p>Is the epoch day a business day?</p>
+	 * @param epochDay days since January 1, 1970.
+	 * @return true if business day else false.
+	 */
+	public boolean isBusinessDay(int epochDay) {
+		boolean response = false;
+
+		if(firstEpochDay <= epochDay && epochDay <= lastEpochDay) {
+			int civil = EpochDays.civil(epochDay);
+
+			response = 0 != (monthBits[this.monthIndex(civil >> 9, (civil >>> 5) & 0xF)] & (1 << ((civil & 0x1F) - 1)));
+		}
+
+		return response;
+	}
+
+	/**
+	 * <p>Count the business days between two dates, both inclusive.</p>
+	 * @param fromEpochDay
+	 * @param toEpochDay
+	 * @return number of business days.
+	 */
+	public int countBusinessDaysBetween(int fromEpochDay, int toEpochDay) {
+		return fromEpochDay <= toEpochDay ? this.countThrough(toEpochDay) - this.countThrough(fromEpochDay - 1) : 0;
+	}
+
+	/**
+	 * @param year
+	 * @param month Calendar.JANUARY..Calendar.DECEMBER
+	 * @return number of business days in the month.
+	 */
+	public int countBusinessDaysInMonth(int year, int month) {
+		int index = this.monthIndex(year, month);
+
+		return 0 <= index ? Integer.bitCount(monthBits[index]) : 0;
+	}
+
+	/**
+	 * @param year
+	 * @param quarter 1..4
+	 * @return number of business days in the quarter.
+	 */
+	public int countBusinessDaysInQuarter(int year, int quarter) {
+		return 1 <= quarter && quarter <= 4 ? this.countBusinessDaysBetween(this.firstDayOfQuarter(year, quarter), this.firstDayOfQuarter(year, quarter + 1) - 1) : 0;
+	}
+
+	/**
+	 * @param year
+	 * @return number of business days in the year.
+	 */
+	public int countBusinessDaysInYear(int year) {
+		return this.countBusinessDaysBetween(EpochDays.of(year, Calendar.JANUARY, 1), EpochDays.of(year, Calendar.DECEMBER, 31));
+	}
+
+	/**
+	 * <p>List the business days between two dates, both inclusive.</p>
+	 * @param fromEpochDay
+	 * @param toEpochDay
+	 * @return sorted epoch days.
+	 */
+	public int[] listBusinessDaysBetween(int fromEpochDay, int toEpochDay) {
+		int from = Math.max(fromEpochDay, firstEpochDay);
+		int to = Math.min(toEpochDay, lastEpochDay);
+
+		int[] response = new int[this.countBusinessDaysBetween(from, to)];
+
+		if(0 < response.length) {
+			int civil = EpochDays.civil(from);
+			int month = this.monthIndex(civil >> 9, (civil >>> 5) & 0xF);
+			int monthStart = from - (civil & 0x1F) + 1;
+
+			// Drop the days of the first month before the start.
+			int bits = monthBits[month] & ~(int) ((1L << ((civil & 0x1F) - 1)) - 1);
+
+			int index = 0;
+			while(index < response.length) {
+				while(bits != 0 && index < response.length) {
+					int day = monthStart + Integer.numberOfTrailingZeros(bits);
+
+					if(to < day) {
+						return response;
+					}
+
+					response[index++] = day;
+					bits &= bits - 1;
+				}
+
+				// Move to the next month.
+				monthStart += EpochDays.lengthOfMonth(firstYear + month / 12, month % 12);
+				month++;
+				bits = month < monthBits.length ? monthBits[month] : 0;
+			}
+		}
+
+		return response;
+	}
+
+	/**
+	 * @param year
+	 * @param month Calendar.JANUARY..Calendar.DECEMBER
+	 * @return sorted epoch days of the business days in the month.
+	 */
+	public int[] listBusinessDaysInMonth(int year, int month) {
+		return 0 <= this.monthIndex(year, month) ? this.listBusinessDaysBetween(EpochDays.of(year, month, 1), EpochDays.of(year, month + 1, 1) - 1) : new int[0];
+	}
+
+	/**
+	 * @param year
+	 * @param quarter 1..4
+	 * @return sorted epoch days of the business days in the quarter.
+	 */
+	public int[] listBusinessDaysInQuarter(int year, int quarter) {
+		return 1 <= quarter && quarter <= 4 ? this.listBusinessDaysBetween(this.firstDayOfQuarter(year, quarter), this.firstDayOfQuarter(year, quarter + 1) - 1) : new int[0];
+	}
+
+	/**
+	 * @param year
+	 * @param month Calendar.JANUARY..Calendar.DECEMBER
+	 * @param n 1 for the first business day of the month.
+	 * @return epoch day of the nth business day of the month else NONE.
+	 */
+	public int nthBusinessDayOfMonth(int year, int month, int n) {
+		int index = this.monthIndex(year, month);
+		int response = NONE;
+
+		if(0 <= index && 0 < n && n <= Integer.bitCount(monthBits[index])) {
+			int bits = monthBits[index];
+
+			// Clear the first n - 1 business days.
+			for(int skip=1; skip < n; skip++) {
+				bits &= bits - 1;
+			}
+
+			response = EpochDays.of(year, month, 1) + Integer.numberOfTrailingZeros(bits);
+		}
+
+		return response;
+	}
+
+	/**
+	 * @param year
+	 * @param month Calendar.JANUARY..Calendar.DECEMBER
+	 * @return epoch day of the last business day of the month else NONE.
+	 */
+	public int lastBusinessDayOfMonth(int year, int month) {
+		int index = this.monthIndex(year, month);
+
+		return 0 <= index && monthBits[index] != 0 ? EpochDays.of(year, month, 1) + 31 - Integer.numberOfLeadingZeros(monthBits[index]) : NONE;
+	}
+
+	/**
+	 * @param year
+	 * @param quarter 1..5, 5 being the first quarter of the next year.
+	 * @return epoch day of the first day of the quarter.
+	 */
+	private int firstDayOfQuarter(int year, int quarter) {
+		return EpochDays.of(year, (quarter - 1) * 3, 1);
+	}
+}
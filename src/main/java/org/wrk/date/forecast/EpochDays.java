@@ -0,0 +1,132 @@
+package org.wrk.date.forecast;
+
+import java.util.Calendar;
+
+/**
+ * <h3>EpochDays</h3>
+ * <p>
+ * Calendar arithmetic on epoch days (days since January 1, 1970) using primitives only.<br>
+ * Months use the Calendar constants (Calendar.JANUARY is 0) and days of the week use Calendar.SUNDAY..Calendar.SATURDAY
+ * so the values can be exchanged freely with Calendar based code.  Dates follow the proleptic Gregorian calendar.
+ * </p>
+ * @author Kelly Willard
+ * @see org.wrk.date.forecast.ForecastRules
+ */
+final class EpochDays {
+	// Days from 0000-03-01 to 1970-01-01.
+	private static final int DAYS_0000_TO_1970 = 719_468;
+
+	// Days in a 400 year Gregorian cycle.
+	private static final int DAYS_PER_CYCLE = 146_097;
+
+	/**
+	 * <p>constructor</p>
+	 */
+	private EpochDays() {
+	}
+
+	/**
+	 * <p>Convert a year, month and day of month into an epoch day.</p>
+	 * @param year
+	 * @param month Calendar.JANUARY..Calendar.DECEMBER
+	 * @param dayOfMonth
+	 * @return epoch day
+	 */
+	static int of(int year, int month, int dayOfMonth) {
+		// Shift the year to start in March so the leap day is the last day of the year.
+		int m = month + 1;
+		int y = m <= 2 ? year - 1 : year;
+		int era = Math.floorDiv(y, 400);
+		int yearOfEra = y - era * 400;
+		int dayOfYear = (153 * (m > 2 ? m - 3 : m + 9) + 2) / 5 + dayOfMonth - 1;
+		int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+
+		return era * DAYS_PER_CYCLE + dayOfEra - DAYS_0000_TO_1970;
+	}
+
+	/**
+	 * <p>Convert the date portion of a Calendar into an epoch day.  The Calendar is not modified.</p>
+	 * @param date
+	 * @return epoch day
+	 */
+	static int of(Calendar date) {
+		return of(date.get(Calendar.YEAR), date.get(Calendar.MONTH), date.get(Calendar.DAY_OF_MONTH));
+	}
+
+	/**
+	 * <p>Convert an epoch day into a packed year, month and day of month.</p>
+	 * <p>Unpack with civil &gt;&gt; 9 (year), (civil &gt;&gt;&gt; 5) &amp; 0xF (month) and civil &amp; 0x1F (day of month).</p>
+	 * @param epochDay
+	 * @return year &lt;&lt; 9 | month &lt;&lt; 5 | dayOfMonth
+	 */
+	static int civil(int epochDay) {
+		int z = epochDay + DAYS_0000_TO_1970;
+		int era = Math.floorDiv(z, DAYS_PER_CYCLE);
+		int dayOfEra = z - era * DAYS_PER_CYCLE;
+		int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+		int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+		int mp = (5 * dayOfYear + 2) / 153;
+		int dayOfMonth = dayOfYear - (153 * mp + 2) / 5 + 1;
+		int month = mp < 10 ? mp + 2 : mp - 10;
+		int year = yearOfEra + era * 400 + (month <= Calendar.FEBRUARY ? 1 : 0);
+
+		return year << 9 | month << 5 | dayOfMonth;
+	}
+
+	/**
+	 * @param epochDay
+	 * @return year of the epoch day.
+	 */
+	static int year(int epochDay) {
+		return civil(epochDay) >> 9;
+	}
+
+	/**
+	 * @param epochDay
+	 * @return month of the epoch day, Calendar.JANUARY..Calendar.DECEMBER.
+	 */
+	static int month(int epochDay) {
+		return (civil(epochDay) >>> 5) & 0xF;
+	}
+
+	/**
+	 * @param epochDay
+	 * @return day of month of the epoch day.
+	 */
+	static int dayOfMonth(int epochDay) {
+		return civil(epochDay) & 0x1F;
+	}
+
+	/**
+	 * @param year
+	 * @param month Calendar.JANUARY..Calendar.DECEMBER
+	 * @return number of days in the month.
+	 */
+	static int lengthOfMonth(int year, int month) {
+		return of(year, month + 1, 1) - of(year, month, 1);
+	}
+
+	/**
+	 * @param epochDay
+	 * @return day of the week, Calendar.SUNDAY..Calendar.SATURDAY.
+	 */
+	static int dayOfWeek(int epochDay) {
+		// January 1, 1970 was a Thursday.
+		return Math.floorMod(epochDay + 4, 7) + Calendar.SUNDAY;
+	}
+
+	/**
+	 * <p>Create a Calendar set to midnight of the epoch day in the default time zone.</p>
+	 * @param epochDay
+	 * @return Calendar
+	 */
+	static Calendar toCalendar(int epochDay) {
+		int civil = civil(epochDay);
+
+		Calendar date = Calendar.getInstance();
+		date.clear();
+		date.set(civil >> 9, (civil >>> 5) & 0xF, civil & 0x1F);
+
+		return date;
+	}
+}
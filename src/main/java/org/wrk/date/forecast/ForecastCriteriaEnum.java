@@ -3,6 +3,8 @@ package org.wrk.date.forecast;
 /**
  * <h3>ForecastCriteriaEnum</h3>enumeration provides the value for each type of avoidance criteria.
  * <p>Criteria determines whether to anticipate a holiday, weekend day (Saturday, Sunday or both) or all.</p>
+ * <p>WEEKEND and ALL_CRITERIA avoid the weekend days of the ForecastDate, Saturday and Sunday unless set otherwise
+ * with a WeekDayMask.  SATURDAY and SUNDAY always avoid that day alone.</p>
  * <p>The order of the enum values must stay as designated.<br>
  * The Saturday, Sunday and Weekend array positions are aligned as even values and divisible by 2.</p>
  * <p>
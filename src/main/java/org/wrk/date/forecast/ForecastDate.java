@@ -1,10 +1,13 @@
 package org.wrk.date.forecast;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.IntStream;
 
+import org.wrk.date.holiday.HolidayEnum;
 import org.wrk.date.holiday.ObservedHolidays;
 
 import lombok.AccessLevel;
@@ -27,23 +30,63 @@ import lombok.Setter;
  * A new date is generated to occur before or after the specified date depending on direction and criteria.
  * </p>
  * <p>.defaultPeriod</p>
+ * <p>
+ * An instance may be shared by many threads.  The precomputed holiday tables are immutable and published through
+ * concurrent structures; each forecast works on its own primitive values and returns a new Calendar.
+ * </p>
  * @author Kelly Willard
  * @see org.wrk.date.forecast.ForecastCriteriaEnum
  * @see org.wrk.date.forecast.ForecastDirectionEnum
  */
 public class ForecastDate implements ForecastRules {
+	// Batches smaller than this are forecast date by date even when sorted.
+	private static final int SORTED_BATCH_MINIMUM = 32;
+	
+	private static final int[] NO_HOLIDAYS = new int[0];
+	
 	@Getter @Setter(AccessLevel.NONE) private int defaultPeriod = 5;
 	
-	@Getter @Setter(AccessLevel.NONE) private int maxPeriod = 100;
+	@Getter @Setter(AccessLevel.NONE) private int defaultMaxPeriod = 100;
+	
+	@Getter @Setter(AccessLevel.NONE) private int maxPeriod = defaultMaxPeriod;
 	
 	@Getter @Setter(AccessLevel.NONE) private int forecastPeriodInYears = defaultPeriod;
 	
-	@Getter @Setter(AccessLevel.NONE) private ObservedHolidays observedHolidays = null;
+	@Setter(AccessLevel.NONE) private ObservedHolidays observedHolidays = null;
+	
+	// Days of the week the WEEKEND criteria avoids.
+	@Getter @Setter(AccessLevel.NONE) private volatile int weekEndDays = WeekDayMask.SATURDAY_SUNDAY;
+	
+	// Days of the week avoided by each criteria, indexed by ordinal, so a forecast reads one value per day.
+	private volatile int[] weekEndMasks = this.weekEndMasks();
+	
+	// Defer ObservedHolidays.init() until the first holiday table is computed.
+	@Getter @Setter(AccessLevel.NONE) private final boolean lazyHolidays;
+	
+	// Has the observed holidays init() run, or been found unnecessary?
+	private volatile boolean holidaysInitialized = false;
+	
+	private final Object holidaysInitializedLock = new Object();
+	
+	// Holidays observed by each year.
+	private volatile HolidayYearCache observedYears = new HolidayYearCache();
+	
+	// Precomputed holiday tables by year, spanning the neighbouring years' observed holidays.
+	private volatile HolidayYearCache holidayYears = new HolidayYearCache();
+	
+	// Serializes swapping the holiday year caches.
+	private final Object holidayYearsLock = new Object();
+	
+	// Holiday table for the widest range of years requested by getHolidayTable, read by the sorted batch sweep.
+	private volatile HolidayTable holidayTable = null;
+	
+	private final Object holidayTableLock = new Object();
 	
 	/**
 	 * <p>constructor</p>
 	 */
 	public ForecastDate() {
+		this.lazyHolidays = false;
 		this.setObservedHolidays(this.observedHolidays);
 	}
 	
@@ -52,46 +95,432 @@ public class ForecastDate implements ForecastRules {
 	 * @param ObservedHolidays
 	 */
 	public ForecastDate(ObservedHolidays observedHolidays) {
+		this.lazyHolidays = false;
+		this.setObservedHolidays(observedHolidays);
+	}
+	
+	/**
+	 * <p>constructor w/params</p>
+	 * <p>
+	 * With lazyHolidays the observed holidays are not initialized during construction.  Initialization runs once, on
+	 * the first holiday table computed, and each year's table is then computed on its first use.
+	 * </p>
+	 * @param ObservedHolidays
+	 * @param lazyHolidays
+	 */
+	public ForecastDate(ObservedHolidays observedHolidays, boolean lazyHolidays) {
+		this.lazyHolidays = lazyHolidays;
 		this.setObservedHolidays(observedHolidays);
 	}
 	
 	/**
 	 * <p>Adjust the date parameter to avoid the forecast criteria.</p>
-	 * <p></p>
+	 * <p>The date parameter is not modified.</p>
 	 * @param date
 	 * @param criteria
 	 * @param direction
-	 * @return date parameter adjusted if criteria is met.
+	 * @return new Calendar date, without timestamp, adjusted if criteria is met.
 	 */
 	private Calendar forecastAdjustment(Calendar date, ForecastCriteriaEnum criteria, ForecastDirectionEnum direction) {
-		// Get the observed holiday object for the date year.
-		ObservedHolidays holidays = observedHolidays.clone(date.get(Calendar.YEAR));
+		return this.toCalendar(this.forecastAdjustment(this.toEpochDay(date), criteria, direction));
+	}
+	
+	/**
+	 * <p>Adjust the epoch day to avoid the forecast criteria.</p>
+	 * <p>
+	 * Every direction is resolved in one call against the precomputed holiday tables.<br>
+	 * The table of the date year answers for the year and its margins; a walk past them moves to the next year's table.
+	 * </p>
+	 * @param epochDay
+	 * @param criteria
+	 * @param direction
+	 * @return epoch day adjusted if criteria is met.
+	 */
+	private int forecastAdjustment(int epochDay, ForecastCriteriaEnum criteria, ForecastDirectionEnum direction) {
+		// Get the precomputed holiday table for the date year.
+		HolidayYear holidays = this.getHolidayYear(EpochDays.year(epochDay));
 		
-		// Create a Calendar object that is used to adjust the date if criteria is met.
-		Calendar now = Calendar.getInstance();
+		int response = epochDay;
 		
-		// Assign the current date.
-		now.setTime(date.getTime());
+		// Is the date already available?
+		if(this.isCriteriaMet(holidays, epochDay, criteria)) {
+			switch(direction) {
+			case BEFORE:
+				response = this.walk(holidays, epochDay, criteria, -1);
+				break;
+			case AFTER:
+				response = this.walk(holidays, epochDay, criteria, 1);
+				break;
+			case NEAREST:
+				response = this.nearest(holidays, epochDay, criteria);
+				break;
+			case MODIFIED_FOLLOWING:
+				response = this.walk(holidays, epochDay, criteria, 1);
+				
+				// Stay within the month.
+				if(EpochDays.month(response) != EpochDays.month(epochDay)) {
+					response = this.walk(holidays, epochDay, criteria, -1);
+				}
+				break;
+			case MODIFIED_PRECEDING:
+				response = this.walk(holidays, epochDay, criteria, -1);
+				
+				// Stay within the month.
+				if(EpochDays.month(response) != EpochDays.month(epochDay)) {
+					response = this.walk(holidays, epochDay, criteria, 1);
+				}
+				break;
+			default:
+				break;
+			}
+		}
+		
+		return response;
+	}
+	
+	/**
+	 * <p>Walk from the epoch day one day at a time until the criteria is no longer met.</p>
+	 * @param holidays
+	 * @param epochDay
+	 * @param criteria
+	 * @param step -1 to walk back, 1 to walk forward.
+	 * @return first epoch day in the walk direction that does not meet the criteria.
+	 */
+	private int walk(HolidayYear holidays, int epochDay, ForecastCriteriaEnum criteria, int step) {
+		int now = epochDay;
 		
-		// Remove the time stamp.
-		now = holidays.deleteTimestamp(now);
-
 		// Adjust date according to criteria.
 		while(this.isCriteriaMet(holidays, now, criteria)) {
-			// Which direction to avoid forecast?
-			if(direction.equals(ForecastDirectionEnum.BEFORE)) {
-				// Subtract 1 day if criteria is met.
-				now.add(Calendar.DAY_OF_MONTH, -1);				
+			now += step;
+		}
+		
+		return now;
+	}
+	
+	/**
+	 * <p>Walk outwards from the epoch day in both directions at once until the criteria is no longer met.</p>
+	 * @param holidays
+	 * @param epochDay
+	 * @param criteria
+	 * @return closest epoch day that does not meet the criteria, the earlier one on a tie.
+	 */
+	private int nearest(HolidayYear holidays, int epochDay, ForecastCriteriaEnum criteria) {
+		int distance = 1;
+		
+		while(this.isCriteriaMet(holidays, epochDay - distance, criteria) && this.isCriteriaMet(holidays, epochDay + distance, criteria)) {
+			distance++;
+		}
+		
+		return this.isCriteriaMet(holidays, epochDay - distance, criteria) ? epochDay + distance : epochDay - distance;
+	}
+	
+	/**
+	 * <p>
+	 * Forecast the epoch day, avoiding the specified forecast criteria.<br/>
+	 * The date is adjusted, if needed, by subtracting or adding (depending on direction) one or more days from the parameter date.<br/>
+	 * Unlike forecastDate, past dates are adjusted as well.
+	 * </p>
+	 * @param epochDay days since January 1, 1970.
+	 * @param criteria
+	 * @param direction
+	 * @return epoch day adjusted to avoid specified criteria if needed.
+	 */
+	public int forecastEpochDay(int epochDay, ForecastCriteriaEnum criteria, ForecastDirectionEnum direction) {
+		return criteria != null && direction != null ? this.forecastAdjustment(epochDay, criteria, direction) : epochDay;
+	}
+	
+	/**
+	 * <p>Forecast the epoch day as forecastEpochDay and explain the forecast in the trace.</p>
+	 * @param epochDay days since January 1, 1970.
+	 * @param criteria
+	 * @param direction
+	 * @param trace receives the explanation, reset first.  Null to forecast without one.
+	 * @return epoch day adjusted to avoid specified criteria if needed.
+	 * @see org.wrk.date.forecast.ForecastTrace
+	 */
+	public int forecastEpochDay(int epochDay, ForecastCriteriaEnum criteria, ForecastDirectionEnum direction, ForecastTrace trace) {
+		int response = this.forecastEpochDay(epochDay, criteria, direction);
+		
+		// Explain the forecast when traced.
+		if(trace != null) {
+			this.explain(trace, epochDay, response, criteria, direction);
+		}
+		
+		return response;
+	}
+	
+	/**
+	 * <p>
+	 * Forecast a batch of epoch days, avoiding the specified forecast criteria.<br/>
+	 * Each date is adjusted as by forecastEpochDay; past dates are adjusted as well.
+	 * </p>
+	 * @param epochDays days since January 1, 1970.
+	 * @param criteria
+	 * @param direction
+	 * @return new array of epoch days adjusted to avoid specified criteria if needed.
+	 */
+	public int[] forecastEpochDays(int[] epochDays, ForecastCriteriaEnum criteria, ForecastDirectionEnum direction) {
+		int[] response = null;
+		
+		// Is the batch valid?
+		if(epochDays != null) {
+			response = new int[epochDays.length];
+			
+			this.forecastEpochDays(epochDays, 0, epochDays.length, response, criteria, direction);
+		}
+		
+		return response;
+	}
+	
+	/**
+	 * <p>
+	 * Forecast a range of a batch of epoch days into the same range of the results.<br/>
+	 * The results array may be the epoch days array to adjust in place.
+	 * </p>
+	 * @param epochDays days since January 1, 1970.
+	 * @param offset first index of the range.
+	 * @param length number of dates in the range.
+	 * @param results receives the adjusted epoch days.
+	 * @param criteria
+	 * @param direction
+	 */
+	public void forecastEpochDays(int[] epochDays, int offset, int length, int[] results, ForecastCriteriaEnum criteria, ForecastDirectionEnum direction) {
+		// Sweep sorted batches dense enough to pay for the holiday table, e.g. ledger exports.
+		if(SORTED_BATCH_MINIMUM <= length 
+				&& this.isSorted(epochDays, offset, length) 
+				&& EpochDays.year(epochDays[offset + length - 1]) - EpochDays.year(epochDays[offset]) < length) {
+			this.sweep(epochDays, offset, length, results, criteria, direction);
+		}
+		else {
+			for(int index=offset; index < offset + length; index++) {
+				results[index] = this.forecastEpochDay(epochDays[index], criteria, direction);
+			}
+		}
+	}
+	
+	/**
+	 * <p>
+	 * Forecast a range of a batch of epoch days sorted in ascending order into the same range of the results.<br/>
+	 * The batch is swept once against the sorted holidays of the holiday table, O(n + h), with no lookup per date.
+	 * The table is extended to span the batch years and a year either side.<br/>
+	 * Input found not to be sorted is forecast date by date.  The results array may be the epoch days array.
+	 * </p>
+	 * @param epochDays days since January 1, 1970, ascending.
+	 * @param offset first index of the range.
+	 * @param length number of dates in the range.
+	 * @param results receives the adjusted epoch days.
+	 * @param criteria
+	 * @param direction
+	 */
+	public void forecastSortedEpochDays(int[] epochDays, int offset, int length, int[] results, ForecastCriteriaEnum criteria, ForecastDirectionEnum direction) {
+		if(this.isSorted(epochDays, offset, length)) {
+			this.sweep(epochDays, offset, length, results, criteria, direction);
+		}
+		else {
+			for(int index=offset; index < offset + length; index++) {
+				results[index] = this.forecastEpochDay(epochDays[index], criteria, direction);
+			}
+		}
+	}
+	
+	/**
+	 * @param epochDays
+	 * @param offset
+	 * @param length
+	 * @return true if the range is in ascending order else false.
+	 */
+	private boolean isSorted(int[] epochDays, int offset, int length) {
+		boolean response = true;
+		
+		for(int index=offset + 1; response && index < offset + length; index++) {
+			response = epochDays[index - 1] <= epochDays[index];
+		}
+		
+		return response;
+	}
+	
+	/**
+	 * <p>
+	 * Forecast a sorted range with a cursor over the sorted holidays.<br/>
+	 * The cursor only moves forward between dates; each walk seeks from it, a few holidays at most.
+	 * </p>
+	 * @param epochDays ascending.
+	 * @param offset
+	 * @param length
+	 * @param results
+	 * @param criteria
+	 * @param direction
+	 */
+	private void sweep(int[] epochDays, int offset, int length, int[] results, ForecastCriteriaEnum criteria, ForecastDirectionEnum direction) {
+		if(0 < length) {
+			if(criteria == null || direction == null || this.criteriaNone(criteria)) {
+				System.arraycopy(epochDays, offset, results, offset, length);
 			}
 			else {
-				// Add 1 day if criteria is met.
-				now.add(Calendar.DAY_OF_MONTH, 1);				
+				HolidayTable table = null;
+				int[] holidays = NO_HOLIDAYS;
+				
+				// Span the batch and a year either side for walks across its ends.
+				if(this.avoidHoliday(criteria)) {
+					table = this.getHolidayTable(EpochDays.year(epochDays[offset]) - 1, EpochDays.year(epochDays[offset + length - 1]) + 1);
+					holidays = table.epochDays();
+				}
+				
+				int weekEnd = this.weekEndMask(criteria);
+				
+				// Start the cursor at the first holiday on or after the first date.
+				int cursor = Arrays.binarySearch(holidays, epochDays[offset]);
+				cursor = cursor < 0 ? -cursor - 1 : cursor;
+				
+				for(int index=offset; index < offset + length; index++) {
+					int epochDay = epochDays[index];
+					
+					cursor = seek(holidays, cursor, epochDay);
+					
+					int response = sweepAdjustment(holidays, cursor, weekEnd, epochDay, direction);
+					
+					// Never expected, a walk would need a year of days meeting the criteria.
+					if(table != null && !table.covers(response)) {
+						response = this.forecastEpochDay(epochDay, criteria, direction);
+					}
+					
+					results[index] = response;
+				}
 			}
 		}
+	}
+	
+	/**
+	 * <p>Adjust the epoch day as forecastAdjustment, against the sorted holidays.</p>
+	 * @param holidays sorted epoch days.
+	 * @param cursor index of the first holiday on or after the epoch day.
+	 * @param weekEnd WeekDayMask of the days to avoid.
+	 * @param epochDay
+	 * @param direction
+	 * @return epoch day adjusted if criteria is met.
+	 */
+	private static int sweepAdjustment(int[] holidays, int cursor, int weekEnd, int epochDay, ForecastDirectionEnum direction) {
+		int response = epochDay;
+		
+		// Is the date already available?
+		if(isMet(holidays, cursor, weekEnd, epochDay)) {
+			switch(direction) {
+			case BEFORE:
+				response = walk(holidays, cursor, weekEnd, epochDay, -1);
+				break;
+			case AFTER:
+				response = walk(holidays, cursor, weekEnd, epochDay, 1);
+				break;
+			case NEAREST:
+				int before = walk(holidays, cursor, weekEnd, epochDay, -1);
+				int after = walk(holidays, cursor, weekEnd, epochDay, 1);
+				
+				// The earlier one on a tie.
+				response = epochDay - before <= after - epochDay ? before : after;
+				break;
+			case MODIFIED_FOLLOWING:
+				response = walk(holidays, cursor, weekEnd, epochDay, 1);
+				
+				// Stay within the month.
+				if(EpochDays.month(response) != EpochDays.month(epochDay)) {
+					response = walk(holidays, cursor, weekEnd, epochDay, -1);
+				}
+				break;
+			case MODIFIED_PRECEDING:
+				response = walk(holidays, cursor, weekEnd, epochDay, -1);
+				
+				// Stay within the month.
+				if(EpochDays.month(response) != EpochDays.month(epochDay)) {
+					response = walk(holidays, cursor, weekEnd, epochDay, 1);
+				}
+				break;
+			default:
+				break;
+			}
+		}
+		
+		return response;
+	}
+	
+	/**
+	 * <p>Walk from the epoch day one day at a time, seeking the holidays from the cursor, until the criteria is no longer met.</p>
+	 * @param holidays sorted epoch days.
+	 * @param cursor index of the first holiday on or after the epoch day.
+	 * @param weekEnd WeekDayMask of the days to avoid.
+	 * @param epochDay
+	 * @param step -1 to walk back, 1 to walk forward.
+	 * @return first epoch day in the walk direction that does not meet the criteria.
+	 */
+	private static int walk(int[] holidays, int cursor, int weekEnd, int epochDay, int step) {
+		int now = epochDay;
+		int position = cursor;
+		
+		while(isMet(holidays, position, weekEnd, now)) {
+			now += step;
+			position = seek(holidays, position, now);
+		}
 		
 		return now;
 	}
 	
+	/**
+	 * @param holidays sorted epoch days.
+	 * @param position index of the first holiday on or after the epoch day.
+	 * @param weekEnd WeekDayMask of the days to avoid.
+	 * @param epochDay
+	 * @return true if the epoch day is a holiday or a weekend day to avoid else false.
+	 */
+	private static boolean isMet(int[] holidays, int position, int weekEnd, int epochDay) {
+		return position < holidays.length && holidays[position] == epochDay 
+				|| WeekDayMask.contains(weekEnd, EpochDays.dayOfWeek(epochDay));
+	}
+	
+	/**
+	 * <p>Move the position, either way, to the first holiday on or after the epoch day.</p>
+	 * @param holidays sorted epoch days.
+	 * @param position index near the epoch day.
+	 * @param epochDay
+	 * @return index of the first holiday on or after the epoch day, holidays.length if none.
+	 */
+	private static int seek(int[] holidays, int position, int epochDay) {
+		int response = position;
+		
+		while(response < holidays.length && holidays[response] < epochDay) {
+			response++;
+		}
+		
+		while(0 < response && epochDay <= holidays[response - 1]) {
+			response--;
+		}
+		
+		return response;
+	}
+	
+	/**
+	 * <p>Determine the days of the week the criteria avoids, from the table kept for the weekend days.</p>
+	 * @param criteria
+	 * @return WeekDayMask of the days avoided, WeekDayMask.NONE if no weekend criteria is set.
+	 */
+	@Override
+	public int weekEndMask(ForecastCriteriaEnum criteria) {
+		return criteria != null ? weekEndMasks[criteria.ordinal()] : WeekDayMask.NONE;
+	}
+	
+	/**
+	 * @return days of the week avoided by each criteria for the current weekend days, indexed by ordinal.
+	 */
+	private int[] weekEndMasks() {
+		ForecastCriteriaEnum[] criteria = ForecastCriteriaEnum.values();
+		
+		int[] response = new int[criteria.length];
+		
+		for(int index=0; index < criteria.length; index++) {
+			response[index] = ForecastRules.super.weekEndMask(criteria[index]);
+		}
+		
+		return response;
+	}
+	
 	/**
 	 * <p>
 	 * Forecast the parameter date, avoiding the specified forecast criteria.<br/>
@@ -137,6 +566,53 @@ public class ForecastDate implements ForecastRules {
 				&& direction != null 
 				? this.forecastAdjustment(date, criteria, direction) : date;
 	}
+	
+	/**
+	 * <p>Forecast the parameter (future) date as forecastDate and explain the forecast in the trace.</p>
+	 * @param date
+	 * @param criteria
+	 * @param direction
+	 * @param trace receives the explanation, reset first.  Null to forecast without one.
+	 * @return Calendar date adjusted to avoid specified criteria if needed.
+	 * @see org.wrk.date.forecast.ForecastTrace
+	 */
+	public Calendar forecastDate(Calendar date, ForecastCriteriaEnum criteria, ForecastDirectionEnum direction, ForecastTrace trace) {
+		Calendar response = this.forecastDate(date, criteria, direction);
+		
+		// Explain the forecast when traced.
+		if(trace != null && date != null) {
+			this.explain(trace, this.toEpochDay(date), this.toEpochDay(response), criteria, direction);
+		}
+		
+		return response;
+	}
+	
+	/**
+	 * <p>Record the days between the original and the adjusted date, each of which met the criteria.</p>
+	 * @param trace
+	 * @param original epoch day
+	 * @param adjusted epoch day
+	 * @param criteria
+	 * @param direction
+	 */
+	private void explain(ForecastTrace trace, int original, int adjusted, ForecastCriteriaEnum criteria, ForecastDirectionEnum direction) {
+		trace.start(original, criteria, direction);
+		
+		int step = adjusted < original ? -1 : 1;
+		
+		for(int epochDay=original; epochDay != adjusted; epochDay += step) {
+			// Holidays take precedence over weekend days, as in isCriteriaMet.
+			if(this.avoidHoliday(criteria) && this.getHolidayYear(EpochDays.year(epochDay)).isHoliday(epochDay)) {
+				trace.skip(epochDay, ForecastCriteriaEnum.HOLIDAY, this.getHolidayName(epochDay));
+			}
+			else {
+				trace.skip(epochDay, this.isSaturday(epochDay) ? ForecastCriteriaEnum.SATURDAY 
+						: this.isSunday(epochDay) ? ForecastCriteriaEnum.SUNDAY : ForecastCriteriaEnum.WEEKEND, null);
+			}
+		}
+		
+		trace.finish(adjusted);
+	}
 		
 	/**
 	 * <p>
@@ -201,6 +677,11 @@ public class ForecastDate implements ForecastRules {
 		
 		// Is the date, criteria and direction valid?
 		if(date != null && criteria != null && direction != null) {
+			// Precompute the holidays of a long horizon in parallel rather than year by year.
+			if(defaultPeriod < period) {
+				this.precompute(date.get(Calendar.YEAR), date.get(Calendar.YEAR) + period - 1);
+			}
+			
 			// Iterate through the period of years.
 			for(int index=0; index < period; index++) {
 				// Generate a new Calendar instance.
@@ -233,50 +714,207 @@ public class ForecastDate implements ForecastRules {
 	 * <p>Determine if the forecast request has met its forecast criteria.</p>
 	 * <p></p>
 	 * @param holidays
-	 * @param avoidDate
+	 * @param avoidDate epoch day
 	 * @param criteria
 	 * @return boolean true if the criteria has been met else false.
 	 */
-	private boolean isCriteriaMet(ObservedHolidays holidays, Calendar avoidDate, ForecastCriteriaEnum criteria) {
+	private boolean isCriteriaMet(HolidayYear holidays, int avoidDate, ForecastCriteriaEnum criteria) {
 		boolean isMet = false;
 		
 		// Is forecast criteria set?
 		if(!this.criteriaNone(criteria)) {
 			// Is holiday criteria set?
 			if(this.avoidHoliday(criteria)) {
-				try {
-					// Determine if date is a holiday.
-					isMet = holidays.isHoliday(avoidDate);
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
+				// Determine if date is a holiday, using the table of its own year once past the given one.
+				isMet = holidays.covers(avoidDate) ? holidays.isHoliday(avoidDate) : this.getHolidayYear(EpochDays.year(avoidDate)).isHoliday(avoidDate);
 			}
 			
-			// Was the holiday criteria met?  Is weekend criteria set?
-			if(!isMet && this.avoidWeekend(criteria)) {
-				// Determine which weekend criteria is set.
-				ForecastCriteriaEnum switchValue = this.weekEndCriteria(criteria);
+			// Was the holiday criteria met?  Is the date one of the weekend days the criteria avoids?
+			if(!isMet) {
+				isMet = WeekDayMask.contains(this.weekEndMask(criteria), EpochDays.dayOfWeek(avoidDate));
+			}
+		}
+		
+		return isMet;
+	}
+	
+	/**
+	 * <p>Build a business day index for the criteria over a range of years.</p>
+	 * @param criteria days meeting the criteria are not business days.
+	 * @param firstYear
+	 * @param lastYear
+	 * @return BusinessDayIndex
+	 * @see org.wrk.date.forecast.BusinessDayIndex
+	 */
+	public BusinessDayIndex getBusinessDayIndex(ForecastCriteriaEnum criteria, int firstYear, int lastYear) {
+		return BusinessDayIndex.of(this, criteria, firstYear, lastYear);
+	}
+	
+	/**
+	 * <p>Is the epoch day a business day?</p>
+	 * @param epochDay days since January 1, 1970.
+	 * @param criteria days meeting the criteria are not business days.
+	 * @return true if the date does not meet the criteria else false.
+	 */
+	public boolean isBusinessDay(int epochDay, ForecastCriteriaEnum criteria) {
+		return !this.isCriteriaMet(this.getHolidayYear(EpochDays.year(epochDay)), epochDay, criteria);
+	}
+	
+	/**
+	 * <p>Get the precomputed holiday table for the year.</p>
+	 * <p>
+	 * The table is computed from the observed holidays on first use and reused by every later forecast.<br>
+	 * It includes the holidays the neighbouring years observe within the year and its margins, e.g. New Year's Day
+	 * observed on December 31, so walks across a year boundary see every holiday.
+	 * </p>
+	 * @param year
+	 * @return HolidayYear
+	 */
+	public HolidayYear getHolidayYear(int year) {
+		HolidayYearCache cache = holidayYears;
+		
+		HolidayYear response = cache.get(year);
+		
+		// Compute the year once, concurrent callers for the same year wait for the first.
+		if(response == null) {
+			response = cache.computeIfAbsent(year, key -> HolidayYear.span(this.getObservedYear(key - 1), this.getObservedYear(key), this.getObservedYear(key + 1)));
+		}
+		
+		return response;
+	}
+	
+	/**
+	 * <p>Name the holiday observed on the epoch day from the cached observed year that holds it.</p>
+	 * @param epochDay
+	 * @return the holiday else null if not known.
+	 */
+	private HolidayEnum getHolidayName(int epochDay) {
+		int year = EpochDays.year(epochDay);
+		
+		HolidayEnum response = this.getObservedYear(year).getHolidayName(epochDay);
+		
+		// Observed just outside its year, e.g. New Year's Day on December 31.
+		if(response == null) {
+			response = this.getObservedYear(year + 1).getHolidayName(epochDay);
+		}
+		
+		if(response == null) {
+			response = this.getObservedYear(year - 1).getHolidayName(epochDay);
+		}
+		
+		return response;
+	}
+	
+	/**
+	 * <p>Get the holidays observed by the year, cloning the observed holidays once per year.</p>
+	 * @param year
+	 * @return HolidayYear
+	 */
+	private HolidayYear getObservedYear(int year) {
+		HolidayYearCache cache = observedYears;
+		
+		HolidayYear response = cache.get(year);
+		
+		// Compute the year once, concurrent callers for the same year wait for the first.
+		if(response == null) {
+			ObservedHolidays holidays = this.getObservedHolidays();
+			
+			response = cache.computeIfAbsent(year, key -> HolidayYear.of(holidays.clone(key), key));
+		}
+		
+		return response;
+	}
+	
+	/**
+	 * @return the precomputed holiday table, null if none has been built.
+	 */
+	public HolidayTable getHolidayTable() {
+		return holidayTable;
+	}
+	
+	/**
+	 * <p>Get the precomputed holiday table spanning a range of years.</p>
+	 * <p>
+	 * The table is built once, in parallel, and reused while it spans the requested range.<br>
+	 * Requesting years outside the current table rebuilds it over the combined range.  Single forecasts read the
+	 * per-year tables and never need it; the sorted batch sweep and callers walking a whole range do.
+	 * </p>
+	 * @param firstYear
+	 * @param lastYear
+	 * @return HolidayTable
+	 */
+	public HolidayTable getHolidayTable(int firstYear, int lastYear) {
+		int first = Math.min(firstYear, lastYear);
+		int last = Math.max(firstYear, lastYear);
+		
+		HolidayTable response = holidayTable;
+		
+		// Does the current table span the range?
+		if(response == null || !response.coversYear(first) || !response.coversYear(last)) {
+			synchronized(holidayTableLock) {
+				response = holidayTable;
 				
-				// Was the weekend criteria determined?
-				if(switchValue != null) {
-					switch(switchValue) {
-					case SATURDAY:
-						isMet = this.isSaturday(avoidDate);
-						break;
-					case SUNDAY:
-						isMet = this.isSunday(avoidDate);
-						break;
-					case WEEKEND:
-						isMet = this.isWeekEnd(avoidDate);
-						break;
-					default:
-						break;
-					}							
+				if(response == null || !response.coversYear(first) || !response.coversYear(last)) {
+					// Extend the range to keep the years already precomputed.
+					if(response != null) {
+						first = Math.min(first, response.getFirstYear());
+						last = Math.max(last, response.getLastYear());
+					}
+					
+					response = HolidayTable.of(this::getHolidayYear, first, last);
+					
+					holidayTable = response;
 				}
-			}			
+			}
 		}
 		
-		return isMet;
+		return response;
+	}
+	
+	/**
+	 * <p>Precompute the per-year holiday tables the forecasts read for a range of years, in parallel.</p>
+	 * <p>Each year is still computed once; the range HolidayTable is not built, see getHolidayTable(int, int).</p>
+	 * @param firstYear
+	 * @param lastYear
+	 * @return number of years precomputed.
+	 */
+	public int precompute(int firstYear, int lastYear) {
+		int response = 0;
+		
+		// Is the range valid?
+		if(firstYear <= lastYear) {
+			IntStream.rangeClosed(firstYear, lastYear).parallel().forEach(this::getHolidayYear);
+			
+			response = lastYear - firstYear + 1;
+		}
+		
+		return response;
+	}
+	
+	/**
+	 * <p>Release the precomputed holiday tables.  They are recomputed on demand by later forecasts.</p>
+	 * <p>Useful once the business days have been registered in a SharedBusinessDayStore.</p>
+	 */
+	public void clearHolidayTables() {
+		synchronized(holidayYearsLock) {
+			holidayYears = new HolidayYearCache();
+			
+			observedYears = new HolidayYearCache();
+		}
+		
+		holidayTable = null;
+	}
+	
+	/**
+	 * <p>Set the maximum number of years forecastDateOverPeriod will forecast.</p>
+	 * <p>Values less than the default period reset the maximum to defaultMaxPeriod.</p>
+	 * @param maxPeriod
+	 */
+	public void setMaxPeriod(int maxPeriod) {
+		this.maxPeriod = defaultPeriod <= maxPeriod ? maxPeriod : defaultMaxPeriod;
+		
+		// Keep the forecast period within the maximum.
+		this.setForecastPeriodInYears(forecastPeriodInYears);
 	}
 	
 	/**
@@ -287,26 +925,57 @@ public class ForecastDate implements ForecastRules {
 		this.forecastPeriodInYears = 0 < forecastPeriodInYears && forecastPeriodInYears <= maxPeriod ? forecastPeriodInYears : defaultPeriod;
 	}
 	
+	/**
+	 * <p>Get the observed holidays, initializing them first when construction was lazy.</p>
+	 * @return the observedHolidays
+	 */
+	public ObservedHolidays getObservedHolidays() {
+		// Initialize once, concurrent callers wait for the first.
+		if(!holidaysInitialized) {
+			synchronized(holidaysInitializedLock) {
+				if(!holidaysInitialized) {
+					// Determine if the holidays have been initialized.
+					if(0 >= observedHolidays.toHolidays().length) {
+						observedHolidays.init();
+					}
+					
+					holidaysInitialized = true;
+				}
+			}
+		}
+		
+		return observedHolidays;
+	}
+	
 	/**
 	 * @param observedHolidays the observedHolidays to set
 	 */
 	public void setObservedHolidays(ObservedHolidays observedHolidays) {
-		// Is the parameter null?
-		if(observedHolidays != null) {
-			// Assign the parameter to the observed holidays.
-			this.observedHolidays = observedHolidays;
+		synchronized(holidaysInitializedLock) {
+			// Discard tables computed from the previous holidays.
+			this.clearHolidayTables();
 			
-			// Determine if the assigned holidays have been initialized.
-			if(0 >= this.observedHolidays.toHolidays().length) {
-				this.observedHolidays.init();	
-			}			
-		}
-		else {
-			// Create default holidays to use.
-			this.observedHolidays = new ObservedHolidays();
+			// Assign the parameter, or default holidays when null, to the observed holidays.
+			this.observedHolidays = observedHolidays != null ? observedHolidays : new ObservedHolidays();
 			
-			// Initialize the default holidays.
-			this.observedHolidays.init();
+			holidaysInitialized = false;
+		}
+		
+		// Initialize now unless deferred to the first use.
+		if(!lazyHolidays) {
+			this.getObservedHolidays();
 		}
 	}
-}
\ No newline at end of file
+	
+	/**
+	 * <p>Set the days of the week the WEEKEND and ALL_CRITERIA criteria avoid, e.g. WeekDayMask.FRIDAY_SATURDAY.</p>
+	 * <p>Business day indexes built earlier keep the weekend days they were built with.</p>
+	 * @param weekEndDays WeekDayMask of the weekend days.
+	 * @throws IllegalArgumentException if the mask holds bits other than the seven days of the week, or all seven.
+	 * @see org.wrk.date.forecast.WeekDayMask
+	 */
+	public void setWeekEndDays(int weekEndDays) {
+		this.weekEndDays = WeekDayMask.check(weekEndDays);
+		this.weekEndMasks = this.weekEndMasks();
+	}
+}
@@ -3,10 +3,20 @@ package org.wrk.date.forecast;
 /**
  * <h3>ForecastDirectionEnum</h3>enumeration provides forecast direction.
  * <p>Avoid a forecast date either before or after the specified date.</p>
+ * <p>
+ * <li>BEFORE the closest available date on or before the specified date.
+ * <li>AFTER the closest available date on or after the specified date.
+ * <li>NEAREST the closest available date in either direction.  When both are equally close the earlier date is used.
+ * <li>MODIFIED_FOLLOWING as AFTER unless the date would move into the next month, then as BEFORE.
+ * <li>MODIFIED_PRECEDING as BEFORE unless the date would move into the previous month, then as AFTER.
+ * </p>
  * @author Kelly Willard
  */
 public enum ForecastDirectionEnum {
 
 	BEFORE,
-	AFTER;
-}
\ No newline at end of file
+	AFTER,
+	NEAREST,
+	MODIFIED_FOLLOWING,
+	MODIFIED_PRECEDING;
+}
@@ -0,0 +1,16 @@
+package org.wrk.date.forecast;
+
+/**
+ * <h3>ForecastFileFormatEnum</h3>enumeration provides the record layout of a forecast file.
+ * <p>
+ * <li>CSV one record per line, dates written as yyyy-MM-dd.  Input lines may hold further delimited columns.
+ * <li>BINARY fixed width records of one 4 byte big-endian epoch day (days since January 1, 1970).
+ * </p>
+ * @author Kelly Willard
+ * @see org.wrk.date.forecast.ForecastFileProcessor
+ */
+public enum ForecastFileFormatEnum {
+
+	CSV,
+	BINARY;
+}
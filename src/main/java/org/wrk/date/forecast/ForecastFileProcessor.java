@@ -0,0 +1,455 @@
+package org.wrk.date.forecast;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <h3>ForecastFileProcessor</h3>
+ * <p>
+ * Forecasts every date of a file and writes the adjusted dates to another file, in input order.<br>
+ * The input is memory mapped one window at a time and each window is split into chunks that are parsed, forecast
+ * and encoded in parallel.  Dates are handled as primitive epoch days; no Calendar is created per row.
+ * </p>
+ * <p>
+ * Input rows that cannot be read as a date are counted as rejected and written as an empty CSV line or as
+ * Integer.MIN_VALUE in BINARY output, so output row n always belongs to input row n.  Dates before 1583, the first
+ * whole Gregorian year of the Calendar the holidays are computed with, or after 9999 are rejected too, as are rows
+ * whose adjusted date leaves those years, e.g. 9999-12-31 forecast AFTER.<br>
+ * Dates are adjusted whether they are in the past or the future, as by ForecastDate.forecastEpochDay.
+ * </p>
+ * <h4>Example:</h4>
+ * <pre>
+ * ForecastFileProcessor processor = new ForecastFileProcessor(forecastDate);
+ * processor.setDirection(ForecastDirectionEnum.AFTER);
+ * ForecastFileReport report = processor.process(Path.of("due-dates.csv"), Path.of("forecast.csv"));
+ * </pre>
+ * @author Kelly Willard
+ * @see org.wrk.date.forecast.ForecastFileFormatEnum
+ */
+@Getter
+@Setter
+public class ForecastFileProcessor {
+	// Row value of a rejected row in BINARY output.
+	public static final int REJECTED = Integer.MIN_VALUE;
+
+	// Length of a yyyy-MM-dd date.
+	private static final int DATE_LENGTH = 10;
+
+	// Shortest CSV row, a date and a line feed.
+	private static final int MIN_CSV_ROW = DATE_LENGTH + 1;
+
+	// Dates outside years MIN_YEAR..MAX_YEAR are rejected; holidays before 1583 would be computed on the Julian calendar.
+	static final int MIN_YEAR = 1583;
+
+	static final int MAX_YEAR = 9999;
+
+	private static final int MIN_EPOCH_DAY = EpochDays.of(MIN_YEAR, Calendar.JANUARY, 1);
+
+	private static final int MAX_EPOCH_DAY = EpochDays.of(MAX_YEAR, Calendar.DECEMBER, 31);
+
+	private ForecastDate forecastDate = null;
+
+	private ForecastCriteriaEnum criteria = ForecastCriteriaEnum.ALL_CRITERIA;
+
+	private ForecastDirectionEnum direction = ForecastDirectionEnum.BEFORE;
+
+	private ForecastFileFormatEnum inputFormat = ForecastFileFormatEnum.CSV;
+
+	private ForecastFileFormatEnum outputFormat = ForecastFileFormatEnum.CSV;
+
+	private char delimiter = ',';
+
+	private int dateColumn = 0;
+
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+
+	private int windowSize = 64 << 20;
+
+	/**
+	 * <p>constructor</p>
+	 */
+	public ForecastFileProcessor() {
+	}
+
+	/**
+	 * <p>constructor w/param</p>
+	 * @param forecastDate
+	 */
+	public ForecastFileProcessor(ForecastDate forecastDate) {
+		this.forecastDate = forecastDate;
+	}
+
+	/**
+	 * <p>Forecast every date of the input file into the output file.</p>
+	 * @param input
+	 * @param output created or replaced.
+	 * @return ForecastFileReport
+	 * @throws IOException if a file cannot be read or written, or a CSV row is longer than the window.
+	 */
+	public ForecastFileReport process(Path input, Path output) throws IOException {
+		// Use a default forecast when none was assigned.
+		if(forecastDate == null) {
+			forecastDate = new ForecastDate();
+		}
+
+		// Heap used by the whole process, sampled after each chunk; the shared pools' peaks are not reset here.
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		long peakHeapBytes = memory.getHeapMemoryUsage().getUsed();
+
+		long start = System.nanoTime();
+		long rows = 0;
+		long rejectedRows = 0;
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+
+		try(FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+			FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			long size = in.size();
+			long position = 0;
+
+			// Process the file one window at a time.
+			while(position < size) {
+				int length = (int) Math.min(Math.max(MIN_CSV_ROW, windowSize), size - position);
+				boolean last = position + length == size;
+
+				MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+				int limit = this.windowLimit(window, length, last);
+
+				List<Future<Chunk>> futures = new ArrayList<>();
+
+				for(int[] bounds : this.split(window, limit)) {
+					futures.add(executor.submit(() -> this.forecastChunk(window, bounds[0], bounds[1])));
+				}
+
+				// Write the chunks in input order.
+				for(Future<Chunk> future : futures) {
+					Chunk chunk = future.get();
+
+					while(chunk.output.hasRemaining()) {
+						out.write(chunk.output);
+					}
+
+					rows += chunk.rows;
+					rejectedRows += chunk.rejectedRows;
+
+					// The window and the chunks still queued are reachable here.
+					peakHeapBytes = Math.max(peakHeapBytes, memory.getHeapMemoryUsage().getUsed());
+				}
+
+				// Trailing bytes of a BINARY file that do not form a record.
+				if(last && limit < length) {
+					rejectedRows++;
+				}
+
+				position += last ? length : limit;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} catch (ExecutionException e) {
+			throw new IOException(e.getCause());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		return new ForecastFileReport(rows, rejectedRows, System.nanoTime() - start, peakHeapBytes);
+	}
+
+	/**
+	 * <p>Determine the end of the last complete record in the window.</p>
+	 * @param window
+	 * @param length
+	 * @param last true if the window ends the file.
+	 * @return number of window bytes holding complete records.
+	 * @throws IOException if a CSV row does not fit in the window.
+	 */
+	private int windowLimit(ByteBuffer window, int length, boolean last) throws IOException {
+		int limit = length;
+
+		if(inputFormat == ForecastFileFormatEnum.BINARY) {
+			limit = length - length % Integer.BYTES;
+		}
+		else if(!last) {
+			// End the window after its last line feed.
+			while(0 < limit && window.get(limit - 1) != '\n') {
+				limit--;
+			}
+
+			if(0 == limit) {
+				throw new IOException("CSV row is longer than the window size " + windowSize);
+			}
+		}
+
+		return limit;
+	}
+
+	/**
+	 * <p>Split the window into one chunk per thread, each ending on a record boundary.</p>
+	 * @param window
+	 * @param limit
+	 * @return chunk start and end offsets.
+	 */
+	private List<int[]> split(ByteBuffer window, int limit) {
+		List<int[]> response = new ArrayList<>();
+
+		int chunks = Math.max(1, parallelism);
+		int target = Math.max(MIN_CSV_ROW, limit / chunks + 1);
+
+		int start = 0;
+		while(start < limit) {
+			int end = Math.min(limit, start + target);
+
+			if(inputFormat == ForecastFileFormatEnum.BINARY) {
+				end -= end % Integer.BYTES;
+			}
+			else {
+				// Move the end past the next line feed.
+				while(end < limit && window.get(end - 1) != '\n') {
+					end++;
+				}
+			}
+
+			response.add(new int[] {start, end});
+			start = end;
+		}
+
+		return response;
+	}
+
+	/**
+	 * <p>Parse, forecast and encode one chunk of the window.</p>
+	 * @param window
+	 * @param start
+	 * @param end
+	 * @return Chunk
+	 */
+	private Chunk forecastChunk(ByteBuffer window, int start, int end) {
+		boolean binary = inputFormat == ForecastFileFormatEnum.BINARY;
+
+		int rows = 0;
+		int[] days;
+
+		if(binary) {
+			days = new int[(end - start) / Integer.BYTES];
+
+			for(int offset=start; offset < end; offset += Integer.BYTES) {
+				int epochDay = window.getInt(offset);
+
+				days[rows++] = MIN_EPOCH_DAY <= epochDay && epochDay <= MAX_EPOCH_DAY ? epochDay : REJECTED;
+			}
+		}
+		else {
+			// Count the rows, including a last row without a line feed.
+			int capacity = 0 < end - start && window.get(end - 1) != '\n' ? 1 : 0;
+
+			for(int offset=start; offset < end; offset++) {
+				if(window.get(offset) == '\n') {
+					capacity++;
+				}
+			}
+
+			days = new int[capacity];
+
+			int lineStart = start;
+
+			for(int offset=start; offset <= end; offset++) {
+				if(offset == end || window.get(offset) == '\n') {
+					// Ignore the empty remainder after the last line feed.
+					if(offset > lineStart || offset < end) {
+						days[rows++] = this.parseRow(window, lineStart, offset);
+					}
+
+					lineStart = offset + 1;
+				}
+			}
+		}
+
+		// Forecast the valid rows in place, keeping rejected rows untouched.
+		int rejectedRows = 0;
+		int valid = 0;
+		int[] accepted = new int[rows];
+
+		for(int row=0; row < rows; row++) {
+			if(days[row] != REJECTED) {
+				accepted[valid++] = days[row];
+			}
+			else {
+				rejectedRows++;
+			}
+		}
+
+		forecastDate.forecastEpochDays(accepted, 0, valid, accepted, criteria, direction);
+
+		for(int row=0, index=0; row < rows; row++) {
+			if(days[row] != REJECTED) {
+				int forecast = accepted[index++];
+
+				// An adjusted date outside the supported years could not be written as yyyy-MM-dd.
+				if(MIN_EPOCH_DAY <= forecast && forecast <= MAX_EPOCH_DAY) {
+					days[row] = forecast;
+				}
+				else {
+					days[row] = REJECTED;
+					rejectedRows++;
+				}
+			}
+		}
+
+		return new Chunk(this.encode(days, rows), rows - rejectedRows, rejectedRows);
+	}
+
+	/**
+	 * <p>Read the date column of a CSV row.</p>
+	 * @param window
+	 * @param start first byte of the row.
+	 * @param end line feed or end of the row.
+	 * @return epoch day or REJECTED.
+	 */
+	private int parseRow(ByteBuffer window, int start, int end) {
+		// Find the date column.
+		int column = 0;
+		int offset = start;
+
+		while(column < dateColumn && offset < end) {
+			if(window.get(offset++) == delimiter) {
+				column++;
+			}
+		}
+
+		int response = REJECTED;
+
+		if(column == dateColumn && offset + DATE_LENGTH <= end
+				&& window.get(offset + 4) == '-' && window.get(offset + 7) == '-'
+				&& (offset + DATE_LENGTH == end || this.isFieldEnd(window.get(offset + DATE_LENGTH)))) {
+			int year = this.digits(window, offset, 4);
+			int month = this.digits(window, offset + 5, 2);
+			int day = this.digits(window, offset + 8, 2);
+
+			if(MIN_YEAR <= year && 1 <= month && month <= 12 && 1 <= day && day <= EpochDays.lengthOfMonth(year, month - 1)) {
+				response = EpochDays.of(year, month - 1, day);
+			}
+		}
+
+		return response;
+	}
+
+	/**
+	 * @param value
+	 * @return true if the byte ends a CSV field.
+	 */
+	private boolean isFieldEnd(byte value) {
+		return value == delimiter || value == '\r';
+	}
+
+	/**
+	 * @param window
+	 * @param offset
+	 * @param length
+	 * @return value of the decimal digits else -1 if a byte is not a digit.
+	 */
+	private int digits(ByteBuffer window, int offset, int length) {
+		int response = 0;
+
+		for(int index=offset; index < offset + length; index++) {
+			int digit = window.get(index) - '0';
+
+			if(digit < 0 || 9 < digit) {
+				return -1;
+			}
+
+			response = response * 10 + digit;
+		}
+
+		return response;
+	}
+
+	/**
+	 * <p>Encode the rows in the output format.</p>
+	 * @param days
+	 * @param rows
+	 * @return ByteBuffer ready to be written.
+	 */
+	private ByteBuffer encode(int[] days, int rows) {
+		ByteBuffer response;
+
+		if(outputFormat == ForecastFileFormatEnum.BINARY) {
+			response = ByteBuffer.allocate(rows * Integer.BYTES);
+
+			for(int row=0; row < rows; row++) {
+				response.putInt(days[row]);
+			}
+		}
+		else {
+			response = ByteBuffer.allocate(rows * MIN_CSV_ROW);
+
+			for(int row=0; row < rows; row++) {
+				if(days[row] != REJECTED) {
+					int civil = EpochDays.civil(days[row]);
+
+					this.putDigits(response, civil >> 9, 4);
+					response.put((byte) '-');
+					this.putDigits(response, ((civil >>> 5) & 0xF) + 1, 2);
+					response.put((byte) '-');
+					this.putDigits(response, civil & 0x1F, 2);
+				}
+
+				response.put((byte) '\n');
+			}
+		}
+
+		response.flip();
+
+		return response;
+	}
+
+	/**
+	 * @param buffer
+	 * @param value
+	 * @param length number of digits, zero padded.
+	 */
+	private void putDigits(ByteBuffer buffer, int value, int length) {
+		int position = buffer.position();
+
+		for(int index=length - 1; 0 <= index; index--) {
+			buffer.put(position + index, (byte) ('0' + value % 10));
+			value /= 10;
+		}
+
+		buffer.position(position + length);
+	}
+
+	/**
+	 * <p>Encoded output of one chunk.</p>
+	 */
+	private static final class Chunk {
+		private final ByteBuffer output;
+
+		private final int rows;
+
+		private final int rejectedRows;
+
+		private Chunk(ByteBuffer output, int rows, int rejectedRows) {
+			this.output = output;
+			this.rows = rows;
+			this.rejectedRows = rejectedRows;
+		}
+	}
+}
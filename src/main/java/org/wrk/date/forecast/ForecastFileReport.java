@@ -0,0 +1,53 @@
+package org.wrk.date.forecast;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.Getter;
+
+/**
+ * <h3>ForecastFileReport</h3>
+ * <p>Records the rows processed, the time spent and the peak heap used by a ForecastFileProcessor run.</p>
+ * <p>
+ * The peak is the most heap the process used at the start of the run or after any chunk was written.  It is sampled,
+ * so a higher use between samples is missed, and it includes what other threads held meanwhile.
+ * </p>
+ * @author Kelly Willard
+ * @see org.wrk.date.forecast.ForecastFileProcessor
+ */
+@Getter
+public final class ForecastFileReport {
+	private final long rows;
+
+	private final long rejectedRows;
+
+	private final long elapsedNanos;
+
+	private final long peakHeapBytes;
+
+	/**
+	 * <p>constructor</p>
+	 * @param rows
+	 * @param rejectedRows
+	 * @param elapsedNanos
+	 * @param peakHeapBytes
+	 */
+	public ForecastFileReport(long rows, long rejectedRows, long elapsedNanos, long peakHeapBytes) {
+		this.rows = rows;
+		this.rejectedRows = rejectedRows;
+		this.elapsedNanos = elapsedNanos;
+		this.peakHeapBytes = peakHeapBytes;
+	}
+
+	/**
+	 * @return rows forecast per second.
+	 */
+	public double getRowsPerSecond() {
+		return 0 < elapsedNanos ? rows * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos : 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Forecast %d rows (%d rejected) in %d ms, %.0f rows/s, peak heap %d MB",
+				rows, rejectedRows, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), this.getRowsPerSecond(), peakHeapBytes >> 20);
+	}
+}
@@ -10,7 +10,12 @@ import java.util.Calendar;
  * <li>isSaturday returns true if date occurs on Saturday else false.
  * <li>isSunday returns true if date occurs on Sunday else false.
  * <li>weekEndCriteria returns which weekend criteria has been set.  Either SATURDAY, SUNDAY or WEEKEND.
- * <li>isWeekEnd returns true if date occurs on weekend else false.
+ * <li>isWeekEnd returns true if date occurs on one of the weekend days else false.
+ * <li>getWeekEndDays returns the weekend days as a WeekDayMask, Saturday and Sunday unless overridden.
+ * <li>weekEndMask returns the days of the week a criteria avoids.
+ * <li>toEpochDay converts a date into an epoch day without modifying it.
+ * <p>The day of the week checks are also available for epoch days and year/month/day values.<br>
+ * These compute the day of the week arithmetically and do not allocate or modify a Calendar.</p>
  * <p></p>
  * @author Kelly Willard
  */
@@ -65,6 +70,7 @@ public interface ForecastRules {
 		
 	/**
 	 * <p>Remove the timestamp from the calendar date.</p> 
+	 * <p>The date parameter is modified in place.  Use toEpochDay to read the date without modifying it.</p>
 	 * @param date
 	 * @return Calendar
 	 */
@@ -93,6 +99,26 @@ public interface ForecastRules {
 		return date != null ? date.get(Calendar.DAY_OF_WEEK) == Calendar.SATURDAY : false;
 	}
 	
+	/**
+	 * <p>Is the epoch day Saturday?</p>
+	 * @param epochDay days since January 1, 1970.
+	 * @return true if date is Saturday else false.
+	 */
+	default public boolean isSaturday(int epochDay) {
+		return EpochDays.dayOfWeek(epochDay) == Calendar.SATURDAY;
+	}
+	
+	/**
+	 * <p>Is the date Saturday?</p>
+	 * @param year
+	 * @param month Calendar.JANUARY..Calendar.DECEMBER
+	 * @param dayOfMonth
+	 * @return true if date is Saturday else false.
+	 */
+	default public boolean isSaturday(int year, int month, int dayOfMonth) {
+		return this.isSaturday(EpochDays.of(year, month, dayOfMonth));
+	}
+	
 	/**
 	 * <p>Is the date Sunday?</p>
 	 * @param date
@@ -102,13 +128,82 @@ public interface ForecastRules {
 		return date != null ? date.get(Calendar.DAY_OF_WEEK) == Calendar.SUNDAY : false;
 	}
 	
+	/**
+	 * <p>Is the epoch day Sunday?</p>
+	 * @param epochDay days since January 1, 1970.
+	 * @return true if date is Sunday else false.
+	 */
+	default public boolean isSunday(int epochDay) {
+		return EpochDays.dayOfWeek(epochDay) == Calendar.SUNDAY;
+	}
+	
+	/**
+	 * <p>Is the date Sunday?</p>
+	 * @param year
+	 * @param month Calendar.JANUARY..Calendar.DECEMBER
+	 * @param dayOfMonth
+	 * @return true if date is Sunday else false.
+	 */
+	default public boolean isSunday(int year, int month, int dayOfMonth) {
+		return this.isSunday(EpochDays.of(year, month, dayOfMonth));
+	}
+	
 	/**
 	 * <p>Does the date occur on a weekend?</p>
 	 * @param date
 	 * @return true if weekend date else false.
 	 */
 	default public boolean isWeekEnd(Calendar date) {
-		return this.isSaturday(date) || this.isSunday(date);
+		return date != null ? WeekDayMask.contains(this.getWeekEndDays(), date.get(Calendar.DAY_OF_WEEK)) : false;
+	}
+	
+	/**
+	 * <p>Does the epoch day occur on a weekend?</p>
+	 * @param epochDay days since January 1, 1970.
+	 * @return true if weekend date else false.
+	 */
+	default public boolean isWeekEnd(int epochDay) {
+		return WeekDayMask.contains(this.getWeekEndDays(), EpochDays.dayOfWeek(epochDay));
+	}
+	
+	/**
+	 * <p>Does the date occur on a weekend?</p>
+	 * @param year
+	 * @param month Calendar.JANUARY..Calendar.DECEMBER
+	 * @param dayOfMonth
+	 * @return true if weekend date else false.
+	 */
+	default public boolean isWeekEnd(int year, int month, int dayOfMonth) {
+		return this.isWeekEnd(EpochDays.of(year, month, dayOfMonth));
+	}
+	
+	/**
+	 * <p>Convert the date into an epoch day, ignoring the timestamp.  The date parameter is not modified.</p>
+	 * @param date
+	 * @return days since January 1, 1970.
+	 */
+	default public int toEpochDay(Calendar date) {
+		return EpochDays.of(date);
+	}
+	
+	/**
+	 * <p>Convert the epoch day into a Calendar set to midnight in the default time zone.</p>
+	 * @param epochDay days since January 1, 1970.
+	 * @return Calendar
+	 */
+	default public Calendar toCalendar(int epochDay) {
+		return EpochDays.toCalendar(epochDay);
+	}
+	
+	/**
+	 * <p>Convert the year, month and day of month into an epoch day.</p>
+	 * @param year
+	 * @param month Calendar.JANUARY..Calendar.DECEMBER
+	 * @param dayOfMonth
+	 * @return days since January 1, 1970.
+	 */
+	default public int toEpochDay(int year, int month, int dayOfMonth) {
+		return EpochDays.of(year, month, dayOfMonth);
 	}
 	
 	/**
@@ -134,4 +229,45 @@ public interface ForecastRules {
 		
 		return response;
 	}
-}
\ No newline at end of file
+	
+	/**
+	 * @return the weekend days, WeekDayMask.SATURDAY_SUNDAY.
+	 * @see org.wrk.date.forecast.WeekDayMask
+	 */
+	default public int getWeekEndDays() {
+		return WeekDayMask.SATURDAY_SUNDAY;
+	}
+	
+	/**
+	 * <p>Determine the days of the week the criteria avoids.</p>
+	 * <p>SATURDAY and SUNDAY avoid that day alone, WEEKEND avoids the weekend days.</p>
+	 * @param criteria
+	 * @return WeekDayMask of the days avoided, WeekDayMask.NONE if no weekend criteria is set.
+	 * @see org.wrk.date.forecast.WeekDayMask
+	 */
+	default public int weekEndMask(ForecastCriteriaEnum criteria) {
+		int response = WeekDayMask.NONE;
+		
+		// Determine which weekend criteria is set.
+		ForecastCriteriaEnum switchValue = this.weekEndCriteria(criteria);
+		
+		// Was the weekend criteria determined?
+		if(switchValue != null) {
+			switch(switchValue) {
+			case SATURDAY:
+				response = WeekDayMask.of(Calendar.SATURDAY);
+				break;
+			case SUNDAY:
+				response = WeekDayMask.of(Calendar.SUNDAY);
+				break;
+			case WEEKEND:
+				response = this.getWeekEndDays();
+				break;
+			default:
+				break;
+			}
+		}
+		
+		return response;
+	}
+}
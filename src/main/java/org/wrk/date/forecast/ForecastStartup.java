@@ -0,0 +1,51 @@
+package org.wrk.date.forecast;
+
+import java.time.Instant;
+import java.util.Calendar;
+
+/**
+ * <h3>ForecastStartup</h3>
+ * <p>
+ * Command line entry point that makes one forecast and reports the time from process start to the first forecast.<br>
+ * It uses the core engine only, without Spring, and is the main class of the AppCDS training run and of the native
+ * image, so the three startup modes can be compared on the same work.
+ * </p>
+ * <h4>Example:</h4>
+ * <pre>
+ * java -cp DateForecast.jar:USHoliday.jar org.wrk.date.forecast.ForecastStartup [lazy]
+ * java -XX:SharedArchiveFile=target/forecast-startup.jsa -cp ... org.wrk.date.forecast.ForecastStartup
+ * target/forecast-startup
+ * </pre>
+ * @author Kelly Willard
+ * @see org.wrk.date.forecast.ForecastDate
+ */
+public final class ForecastStartup {
+
+	/**
+	 * <p>constructor</p>
+	 */
+	private ForecastStartup() {
+	}
+
+	/**
+	 * @param args optional "lazy" to defer the observed holidays initialization to the forecast.
+	 */
+	public static void main(String[] args) {
+		boolean lazy = 0 < args.length && "lazy".equalsIgnoreCase(args[0]);
+
+		ForecastDate forecastDate = new ForecastDate(null, lazy);
+
+		// Christmas of next year, before the holiday and the weekend.
+		int christmas = forecastDate.toEpochDay(Calendar.getInstance().get(Calendar.YEAR) + 1, Calendar.DECEMBER, 25);
+
+		int forecast = forecastDate.forecastEpochDay(christmas, ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.BEFORE);
+
+		long now = System.currentTimeMillis();
+
+		// Process start, as the JVM or the native image sees it.
+		long start = ProcessHandle.current().info().startInstant().map(Instant::toEpochMilli).orElse(now);
+
+		System.out.println(String.format("first forecast %s, startup-to-first-forecast %d ms%s",
+				forecastDate.toCalendar(forecast).getTime(), now - start, lazy ? " (lazy holidays)" : ""));
+	}
+}
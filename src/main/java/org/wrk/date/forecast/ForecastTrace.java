@@ -0,0 +1,206 @@
+package org.wrk.date.forecast;
+
+import org.wrk.date.holiday.HolidayEnum;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <h3>ForecastTrace</h3>
+ * <p>
+ * Explanation of a single forecast: the original date, the adjusted date and each day skipped with the reason it was
+ * skipped.<br>
+ * A trace is filled by the ForecastDate methods accepting one and is reset by every use, so a thread can keep one
+ * instance and reuse it.  The skipped days are held in arrays preallocated to the capacity; recording a forecast
+ * allocates nothing.  Holiday names are recorded from the observed year that holds each skipped holiday.
+ * </p>
+ * <p>Forecasts made without a trace are not affected, so tracing can be enabled on a sample of requests.</p>
+ * <h4>Example:</h4>
+ * <pre>
+ * ForecastTrace trace = new ForecastTrace();
+ * forecastDate.forecastDate(date, ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.BEFORE, trace);
+ * log.info(trace.toString());
+ * </pre>
+ * <p>A trace is not thread safe.</p>
+ * @author Kelly Willard
+ * @see org.wrk.date.forecast.ForecastDate
+ */
+public final class ForecastTrace {
+	// Skipped days kept by the default constructor.
+	public static final int DEFAULT_CAPACITY = 32;
+
+	private static final ForecastCriteriaEnum[] REASONS = ForecastCriteriaEnum.values();
+
+	@Getter @Setter(AccessLevel.NONE) private int originalEpochDay;
+
+	@Getter @Setter(AccessLevel.NONE) private int adjustedEpochDay;
+
+	@Getter @Setter(AccessLevel.NONE) private ForecastCriteriaEnum criteria;
+
+	@Getter @Setter(AccessLevel.NONE) private ForecastDirectionEnum direction;
+
+	// Days skipped, including those beyond the capacity.
+	@Getter @Setter(AccessLevel.NONE) private int skippedCount;
+
+	private final int[] skippedDays;
+
+	// ForecastCriteriaEnum ordinal of each skipped day.
+	private final byte[] reasons;
+
+	// Holiday observed on each skipped day, null for other days.
+	private final HolidayEnum[] holidayNames;
+
+	/**
+	 * <p>constructor</p>
+	 */
+	public ForecastTrace() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * <p>constructor w/param</p>
+	 * @param capacity skipped days kept, later ones are counted only.
+	 */
+	public ForecastTrace(int capacity) {
+		this.skippedDays = new int[Math.max(1, capacity)];
+		this.reasons = new byte[skippedDays.length];
+		this.holidayNames = new HolidayEnum[skippedDays.length];
+	}
+
+	/**
+	 * <p>Start recording a forecast, discarding the previous one.</p>
+	 * @param originalEpochDay
+	 * @param criteria
+	 * @param direction
+	 */
+	void start(int originalEpochDay, ForecastCriteriaEnum criteria, ForecastDirectionEnum direction) {
+		this.originalEpochDay = originalEpochDay;
+		this.adjustedEpochDay = originalEpochDay;
+		this.criteria = criteria;
+		this.direction = direction;
+		this.skippedCount = 0;
+	}
+
+	/**
+	 * @param epochDay skipped day.
+	 * @param reason criteria the day met: HOLIDAY, SATURDAY, SUNDAY or WEEKEND for other weekend days.
+	 * @param holidayName holiday observed on the day, null if none or not known.
+	 */
+	void skip(int epochDay, ForecastCriteriaEnum reason, HolidayEnum holidayName) {
+		if(skippedCount < skippedDays.length) {
+			skippedDays[skippedCount] = epochDay;
+			reasons[skippedCount] = (byte) reason.ordinal();
+			holidayNames[skippedCount] = holidayName;
+		}
+
+		skippedCount++;
+	}
+
+	/**
+	 * @param adjustedEpochDay
+	 */
+	void finish(int adjustedEpochDay) {
+		this.adjustedEpochDay = adjustedEpochDay;
+	}
+
+	/**
+	 * @return true if the forecast moved the date else false.
+	 */
+	public boolean isAdjusted() {
+		return adjustedEpochDay != originalEpochDay;
+	}
+
+	/**
+	 * @return true if more days were skipped than the capacity keeps else false.
+	 */
+	public boolean isTruncated() {
+		return skippedDays.length < skippedCount;
+	}
+
+	/**
+	 * @return number of skipped days kept.
+	 */
+	public int size() {
+		return Math.min(skippedCount, skippedDays.length);
+	}
+
+	/**
+	 * @param index 0..size() - 1, in walk order.
+	 * @return epoch day of the skipped day.
+	 */
+	public int getSkippedDay(int index) {
+		return skippedDays[this.checkIndex(index)];
+	}
+
+	/**
+	 * @param index 0..size() - 1, in walk order.
+	 * @return HOLIDAY, SATURDAY, SUNDAY or WEEKEND for the other weekend days, e.g. Friday.
+	 */
+	public ForecastCriteriaEnum getReason(int index) {
+		return REASONS[reasons[this.checkIndex(index)]];
+	}
+
+	/**
+	 * @param index 0..size() - 1, in walk order.
+	 * @return the holiday observed on the skipped day else null if the day was not skipped for a holiday or the
+	 * holiday is not known.
+	 */
+	public HolidayEnum getHolidayName(int index) {
+		return holidayNames[this.checkIndex(index)];
+	}
+
+	/**
+	 * @param index
+	 * @return index
+	 * @throws IndexOutOfBoundsException if the index is not a kept skipped day.
+	 */
+	private int checkIndex(int index) {
+		if(index < 0 || this.size() <= index) {
+			throw new IndexOutOfBoundsException("Skipped day " + index + " of " + this.size());
+		}
+
+		return index;
+	}
+
+	/**
+	 * @param epochDay
+	 * @return yyyy-MM-dd
+	 */
+	private static String format(int epochDay) {
+		int civil = EpochDays.civil(epochDay);
+
+		return String.format("%04d-%02d-%02d", civil >> 9, ((civil >>> 5) & 0xF) + 1, civil & 0x1F);
+	}
+
+	/**
+	 * <p>Compact description, e.g. 2027-01-01 BEFORE ALL_CRITERIA -&gt; 2026-12-31 skipped [2027-01-01 HOLIDAY NEWYEARS_DAY]</p>
+	 */
+	@Override
+	public String toString() {
+		StringBuilder response = new StringBuilder();
+
+		response.append(format(originalEpochDay)).append(' ').append(direction).append(' ').append(criteria)
+				.append(" -> ").append(format(adjustedEpochDay)).append(" skipped [");
+
+		for(int index=0; index < this.size(); index++) {
+			if(0 < index) {
+				response.append(", ");
+			}
+
+			response.append(format(skippedDays[index])).append(' ').append(this.getReason(index));
+
+			HolidayEnum holiday = holidayNames[index];
+
+			if(holiday != null) {
+				response.append(' ').append(holiday);
+			}
+		}
+
+		if(this.isTruncated()) {
+			response.append(", ... ").append(skippedCount - skippedDays.length).append(" more");
+		}
+
+		return response.append(']').toString();
+	}
+}
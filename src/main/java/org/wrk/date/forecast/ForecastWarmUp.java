@@ -0,0 +1,110 @@
+package org.wrk.date.forecast;
+
+import java.util.Calendar;
+import java.util.SplittableRandom;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <h3>ForecastWarmUp</h3>
+ * <p>
+ * Prepares a ForecastDate for traffic.<br>
+ * The holiday tables for the configured range of years are precomputed in parallel and, optionally, a short synthetic
+ * forecast workload is driven so the forecast path is compiled before the first real request arrives.
+ * </p>
+ * <h4>Example:</h4>
+ * <pre>
+ * ForecastWarmUp warmUp = new ForecastWarmUp(forecastDate);
+ * warmUp.setLastYear(2050);
+ * ForecastWarmUpReport report = warmUp.warmUp();
+ * </pre>
+ * <p>Spring contexts can use ForecastWarmUpLifecycle to run the warm-up during context startup.</p>
+ * @author Kelly Willard
+ * @see org.wrk.date.forecast.ForecastWarmUpLifecycle
+ */
+@Getter
+@Setter
+public class ForecastWarmUp {
+	private ForecastDate forecastDate = null;
+
+	private int firstYear = Calendar.getInstance().get(Calendar.YEAR);
+
+	private int lastYear = firstYear + 5;
+
+	private int workloadOperations = 20_000;
+
+	private long seed = 20_250_101L;
+
+	/**
+	 * <p>constructor</p>
+	 */
+	public ForecastWarmUp() {
+	}
+
+	/**
+	 * <p>constructor w/param</p>
+	 * @param forecastDate
+	 */
+	public ForecastWarmUp(ForecastDate forecastDate) {
+		this.forecastDate = forecastDate;
+	}
+
+	/**
+	 * <p>Precompute the holiday tables and drive the synthetic workload.</p>
+	 * @return ForecastWarmUpReport describing the time spent.
+	 */
+	public ForecastWarmUpReport warmUp() {
+		// Use a default forecast when none was assigned.
+		if(forecastDate == null) {
+			forecastDate = new ForecastDate();
+		}
+
+		int first = Math.min(firstYear, lastYear);
+		int last = Math.max(firstYear, lastYear);
+
+		// Precompute the holiday tables.
+		long start = System.nanoTime();
+		int years = forecastDate.precompute(first, last);
+		long precomputeNanos = System.nanoTime() - start;
+
+		// Drive the synthetic workload.
+		start = System.nanoTime();
+		int operations = this.runWorkload(last);
+		long workloadNanos = System.nanoTime() - start;
+
+		return new ForecastWarmUpReport(first, last, years, precomputeNanos, operations, workloadNanos);
+	}
+
+	/**
+	 * <p>Forecast pseudo random future dates up to the end of the last year using every criteria and direction.</p>
+	 * @param last
+	 * @return number of forecasts made.
+	 */
+	private int runWorkload(int last) {
+		int operations = Math.max(0, workloadOperations);
+
+		// Forecasts only adjust future dates so the workload starts tomorrow.
+		Calendar tomorrow = forecastDate.deleteTimestamp(Calendar.getInstance());
+		tomorrow.add(Calendar.DAY_OF_MONTH, 1);
+
+		// Spread the dates over the remaining years of the range, at least one year.
+		int span = Math.max(366, (last - tomorrow.get(Calendar.YEAR) + 1) * 366);
+
+		ForecastCriteriaEnum[] criteria = ForecastCriteriaEnum.values();
+		ForecastDirectionEnum[] directions = ForecastDirectionEnum.values();
+
+		SplittableRandom random = new SplittableRandom(seed);
+
+		Calendar date = Calendar.getInstance();
+
+		for(int index=0; index < operations; index++) {
+			date.setTime(tomorrow.getTime());
+			date.add(Calendar.DAY_OF_MONTH, random.nextInt(span));
+
+			forecastDate.forecastDate(date, criteria[index % criteria.length], directions[index / criteria.length % directions.length]);
+		}
+
+		return operations;
+	}
+}
@@ -0,0 +1,61 @@
+package org.wrk.date.forecast;
+
+import org.springframework.context.SmartLifecycle;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <h3>ForecastWarmUpLifecycle</h3>
+ * <p>
+ * Runs a ForecastWarmUp while the Spring context starts.<br>
+ * The context does not finish refreshing until the warm-up completes, so readiness checks that wait for the
+ * context are gated on the warm-up.  isRunning() reports whether the warm-up has completed.
+ * </p>
+ * <h4>Example:</h4>
+ * <pre>
+ * &lt;bean id="forecastWarmUp" class="org.wrk.date.forecast.ForecastWarmUpLifecycle"&gt;
+ * 	&lt;constructor-arg&gt;
+ * 		&lt;bean class="org.wrk.date.forecast.ForecastWarmUp"&gt;
+ * 			&lt;property name="forecastDate" ref="forecastCorpDate"/&gt;
+ * 			&lt;property name="lastYear" value="2050"/&gt;
+ * 		&lt;/bean&gt;
+ * 	&lt;/constructor-arg&gt;
+ * &lt;/bean&gt;
+ * </pre>
+ * @author Kelly Willard
+ * @see org.wrk.date.forecast.ForecastWarmUp
+ */
+public class ForecastWarmUpLifecycle implements SmartLifecycle {
+	@Getter @Setter(AccessLevel.NONE) private final ForecastWarmUp warmUp;
+
+	@Getter @Setter private int phase = 0;
+
+	@Getter @Setter(AccessLevel.NONE) private volatile ForecastWarmUpReport report = null;
+
+	/**
+	 * <p>constructor w/param</p>
+	 * @param warmUp
+	 */
+	public ForecastWarmUpLifecycle(ForecastWarmUp warmUp) {
+		this.warmUp = warmUp != null ? warmUp : new ForecastWarmUp();
+	}
+
+	@Override
+	public void start() {
+		// Warm up only once per context.
+		if(report == null) {
+			report = warmUp.warmUp();
+		}
+	}
+
+	@Override
+	public void stop() {
+	}
+
+	@Override
+	public boolean isRunning() {
+		return report != null;
+	}
+}
@@ -0,0 +1,58 @@
+package org.wrk.date.forecast;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.Getter;
+
+/**
+ * <h3>ForecastWarmUpReport</h3>
+ * <p>Records the work done and the time spent by a ForecastWarmUp run.</p>
+ * @author Kelly Willard
+ * @see org.wrk.date.forecast.ForecastWarmUp
+ */
+@Getter
+public final class ForecastWarmUpReport {
+	private final int firstYear;
+
+	private final int lastYear;
+
+	private final int yearsPrecomputed;
+
+	private final long precomputeNanos;
+
+	private final int workloadOperations;
+
+	private final long workloadNanos;
+
+	/**
+	 * <p>constructor</p>
+	 * @param firstYear
+	 * @param lastYear
+	 * @param yearsPrecomputed
+	 * @param precomputeNanos
+	 * @param workloadOperations
+	 * @param workloadNanos
+	 */
+	public ForecastWarmUpReport(int firstYear, int lastYear, int yearsPrecomputed, long precomputeNanos, int workloadOperations, long workloadNanos) {
+		this.firstYear = firstYear;
+		this.lastYear = lastYear;
+		this.yearsPrecomputed = yearsPrecomputed;
+		this.precomputeNanos = precomputeNanos;
+		this.workloadOperations = workloadOperations;
+		this.workloadNanos = workloadNanos;
+	}
+
+	/**
+	 * @return total time spent warming up in milliseconds.
+	 */
+	public long getTotalMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(precomputeNanos + workloadNanos);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Forecast warm-up %d-%d: %d years precomputed in %d ms, %d forecasts in %d ms",
+				firstYear, lastYear, yearsPrecomputed, TimeUnit.NANOSECONDS.toMillis(precomputeNanos),
+				workloadOperations, TimeUnit.NANOSECONDS.toMillis(workloadNanos));
+	}
+}
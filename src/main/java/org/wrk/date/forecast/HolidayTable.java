@@ -0,0 +1,155 @@
+package org.wrk.date.forecast;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <h3>HolidayTable</h3>
+ * <p>
+ * Immutable, precomputed holiday table for a contiguous range of years.<br>
+ * The holidays of every year in the range are materialized once, in parallel, into a single sorted array of epoch
+ * days.  Lookups are a binary search, O(log n), regardless of how many years the range spans.
+ * </p>
+ * <h4>Example:</h4>
+ * <pre>
+ * HolidayTable table = forecastDate.getHolidayTable(1900, 2200);
+ * boolean holiday = table.isHoliday(forecastDate.toEpochDay(2100, Calendar.DECEMBER, 24));
+ * </pre>
+ * @author Kelly Willard
+ * @see org.wrk.date.forecast.HolidayYear
+ */
+public final class HolidayTable {
+	@Getter @Setter(AccessLevel.NONE) private final int firstYear;
+
+	@Getter @Setter(AccessLevel.NONE) private final int lastYear;
+
+	@Getter @Setter(AccessLevel.NONE) private final int firstEpochDay;
+
+	@Getter @Setter(AccessLevel.NONE) private final int lastEpochDay;
+
+	private final int[] holidays;
+
+	/**
+	 * <p>constructor</p>
+	 * @param firstYear
+	 * @param lastYear
+	 * @param holidays sorted epoch days.
+	 */
+	private HolidayTable(int firstYear, int lastYear, int[] holidays) {
+		this.firstYear = firstYear;
+		this.lastYear = lastYear;
+		this.firstEpochDay = EpochDays.of(firstYear, Calendar.JANUARY, 1);
+		this.lastEpochDay = EpochDays.of(lastYear, Calendar.DECEMBER, 31);
+		this.holidays = holidays;
+	}
+
+	/**
+	 * <p>Build the table for the range of years.  Each year is evaluated once and the years are evaluated in parallel.</p>
+	 * @param years supplies the holiday table of a year.
+	 * @param firstYear
+	 * @param lastYear
+	 * @return HolidayTable
+	 */
+	public static HolidayTable of(IntFunction<HolidayYear> years, int firstYear, int lastYear) {
+		int first = Math.min(firstYear, lastYear);
+		int last = Math.max(firstYear, lastYear);
+
+		// Evaluate the years in parallel, keeping them in year order.
+		int[][] perYear = IntStream.rangeClosed(first, last).parallel()
+				.mapToObj(year -> years.apply(year).toEpochDays())
+				.toArray(int[][]::new);
+
+		int size = 0;
+		for(int[] days : perYear) {
+			size += days.length;
+		}
+
+		int firstEpochDay = EpochDays.of(first, Calendar.JANUARY, 1);
+		int lastEpochDay = EpochDays.of(last, Calendar.DECEMBER, 31);
+
+		// Concatenate the days within the range.
+		int[] holidays = new int[size];
+
+		int index = 0;
+		for(int[] days : perYear) {
+			for(int day : days) {
+				if(firstEpochDay <= day && day <= lastEpochDay) {
+					holidays[index++] = day;
+				}
+			}
+		}
+
+		// Sort, a holiday observed outside its year can precede or repeat a neighbour's.
+		Arrays.sort(holidays, 0, index);
+
+		int unique = 0;
+		for(int position=0; position < index; position++) {
+			if(unique == 0 || holidays[unique - 1] != holidays[position]) {
+				holidays[unique++] = holidays[position];
+			}
+		}
+
+		return new HolidayTable(first, last, Arrays.copyOf(holidays, unique));
+	}
+
+	/**
+	 * @param year
+	 * @return true if the year is within the table range else false.
+	 */
+	public boolean coversYear(int year) {
+		return firstYear <= year && year <= lastYear;
+	}
+
+	/**
+	 * @param epochDay
+	 * @return true if the epoch day is within the table range else false.
+	 */
+	public boolean covers(int epochDay) {
+		return firstEpochDay <= epochDay && epochDay <= lastEpochDay;
+	}
+
+	/**
+	 * <p>Is the epoch day a holiday?</p>
+	 * @param epochDay days since January 1, 1970.
+	 * @return true if holiday else false.  Dates outside the table range are never holidays.
+	 */
+	public boolean isHoliday(int epochDay) {
+		return 0 <= Arrays.binarySearch(holidays, epochDay);
+	}
+
+	/**
+	 * <p>Is the date a holiday?</p>
+	 * @param date
+	 * @return true if holiday else false.  Dates outside the table range are never holidays.
+	 */
+	public boolean isHoliday(Calendar date) {
+		return date != null ? this.isHoliday(EpochDays.of(date)) : false;
+	}
+
+	/**
+	 * @return number of holidays in the table.
+	 */
+	public int size() {
+		return holidays.length;
+	}
+
+	/**
+	 * @return sorted epoch days of every holiday in the table.
+	 */
+	public int[] toEpochDays() {
+		return holidays.clone();
+	}
+
+	/**
+	 * @return sorted epoch days of every holiday in the table, not copied.  Callers must not modify the array.
+	 */
+	int[] epochDays() {
+		return holidays;
+	}
+}
@@ -0,0 +1,353 @@
+package org.wrk.date.forecast;
+
+import java.util.Arrays;
+import java.util.Calendar;
+
+import org.wrk.date.holiday.HolidayEnum;
+import org.wrk.date.holiday.ObservedHolidays;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <h3>HolidayYear</h3>
+ * <p>
+ * Immutable, precomputed holiday table for a single year.<br>
+ * Each day of the year is evaluated once against the observed holidays cloned for that year and the result is kept
+ * in a bitset, so later lookups never clone or query the observed holidays again.<br>
+ * A few days either side of the year are evaluated as well, an observed holiday can fall just outside its year,
+ * e.g. New Year's Day observed on December 31 of the previous year.<br>
+ * span combines the neighbouring years into a view answering for every day of its window, whichever year observes
+ * the holiday.  Lookups are available by Calendar or by epoch day.
+ * </p>
+ * <p>
+ * A year built from the observed holidays also names the days it observes, e.g. December 24 as CHRISTMAS_DAY when
+ * Christmas falls on a Saturday, so a trace can name a skipped day without querying the observed holidays again.
+ * </p>
+ * @author Kelly Willard
+ * @see org.wrk.date.holiday.ObservedHolidays
+ */
+public final class HolidayYear {
+	// Days evaluated before and after the year.
+	private static final int MARGIN = 7;
+
+	// Epoch day of a holiday the year does not observe.
+	private static final int NOT_OBSERVED = Integer.MIN_VALUE;
+	
+	@Getter @Setter(AccessLevel.NONE) private final int year;
+
+	@Getter @Setter(AccessLevel.NONE) private final int holidayCount;
+
+	@Getter @Setter(AccessLevel.NONE) private final int firstEpochDay;
+
+	// Epoch days of the window, the year and its margins.
+	private final int windowStart;
+
+	private final int windowEnd;
+
+	// Bitset indexed by days since the window start.
+	private final long[] days;
+
+	// Observed days named by the holidays of the year, and their names; empty for a span.
+	private final int[] namedDays;
+
+	private final HolidayEnum[] names;
+
+	/**
+	 * <p>constructor</p>
+	 * @param year
+	 * @param days bitset indexed by days since MARGIN days before January 1.
+	 */
+	private HolidayYear(int year, long[] days) {
+		this(year, days, new int[0], new HolidayEnum[0]);
+	}
+
+	/**
+	 * <p>constructor w/param</p>
+	 * @param year
+	 * @param days bitset indexed by days since MARGIN days before January 1.
+	 * @param namedDays observed epoch days of the names.
+	 * @param names holiday observed on each named day.
+	 */
+	private HolidayYear(int year, long[] days, int[] namedDays, HolidayEnum[] names) {
+		this.year = year;
+		this.days = days;
+		this.namedDays = namedDays;
+		this.names = names;
+		this.firstEpochDay = EpochDays.of(year, Calendar.JANUARY, 1);
+		this.windowStart = firstEpochDay - MARGIN;
+		this.windowEnd = EpochDays.of(year, Calendar.DECEMBER, 31) + MARGIN;
+
+		int count = 0;
+		for(long word : days) {
+			count += Long.bitCount(word);
+		}
+		this.holidayCount = count;
+	}
+
+	/**
+	 * <p>Precompute the holiday table for the year.</p>
+	 * @param holidays observed holidays already cloned for the year.
+	 * @param year
+	 * @return HolidayYear
+	 * @throws IllegalStateException if the observed holidays fail for a day, wrapping the cause.
+	 */
+	public static HolidayYear of(ObservedHolidays holidays, int year) {
+		// One bit for each day of the year and the margins.
+		int length = EpochDays.of(year + 1, Calendar.JANUARY, 1) - EpochDays.of(year, Calendar.JANUARY, 1) + 2 * MARGIN;
+
+		long[] days = new long[(length + 63) >>> 6];
+
+		Calendar date = Calendar.getInstance();
+		date.clear();
+		date.set(year, Calendar.JANUARY, 1 - MARGIN);
+
+		// Evaluate every day exactly once.
+		for(int day=0; day < length; day++) {
+			try {
+				if(holidays.isHoliday(date)) {
+					days[day >>> 6] |= 1L << day;
+				}
+			} catch (Exception e) {
+				// A table missing holidays would forecast onto them, never keep one.
+				throw new IllegalStateException("Observed holidays failed for " + year + ": " + date.getTime(), e);
+			}
+
+			date.add(Calendar.DAY_OF_MONTH, 1);
+		}
+
+		int windowStart = EpochDays.of(year, Calendar.JANUARY, 1) - MARGIN;
+
+		// Name the days observed for the holidays of the year.
+		HolidayEnum[] holidayNames = HolidayEnum.values();
+
+		int[] namedDays = new int[holidayNames.length];
+		HolidayEnum[] names = new HolidayEnum[holidayNames.length];
+
+		int named = 0;
+		for(HolidayEnum holiday : holidayNames) {
+			Calendar holidayDate = holidayDate(holidays, holiday);
+
+			int observed = holidayDate != null ? observedDay(days, windowStart, length, EpochDays.of(holidayDate)) : NOT_OBSERVED;
+
+			if(observed != NOT_OBSERVED) {
+				namedDays[named] = observed;
+				names[named++] = holiday;
+			}
+		}
+
+		return new HolidayYear(year, days, Arrays.copyOf(namedDays, named), Arrays.copyOf(names, named));
+	}
+
+	/**
+	 * @param holidays observed holidays cloned for a year.
+	 * @param holiday
+	 * @return the date of the holiday for the year else null if the holiday is not known.
+	 */
+	private static Calendar holidayDate(ObservedHolidays holidays, HolidayEnum holiday) {
+		Calendar response = null;
+
+		switch(holiday) {
+		case CHRISTMAS_DAY:
+			response = holidays.getChristmasDay();
+			break;
+		case COLUMBUS_DAY:
+			response = holidays.getColumbusDay();
+			break;
+		case INDEPENDENCE_DAY:
+			response = holidays.getIndependenceDay();
+			break;
+		case JUNETEENTH_DAY:
+			response = holidays.getJuneteenthDay();
+			break;
+		case LABOR_DAY:
+			response = holidays.getLaborDay();
+			break;
+		case MARTINLUTHERKINGJR_DAY:
+			response = holidays.getMartinLutherKingJrDay();
+			break;
+		case MEMORIAL_DAY:
+			response = holidays.getMemorialDay();
+			break;
+		case NEWYEARS_DAY:
+			response = holidays.getNewYearsDay();
+			break;
+		case PRESIDENTS_DAY:
+			response = holidays.getPresidentsDay();
+			break;
+		case THANKSGIVING_DAY:
+			response = holidays.getThanksgivingDay();
+			break;
+		case VETERANS_DAY:
+			response = holidays.getVeteransDay();
+			break;
+		default:
+			break;
+		}
+
+		return response;
+	}
+
+	/**
+	 * <p>The day a holiday is observed: its date, else the Friday before a Saturday or the Monday after a Sunday.</p>
+	 * @param days bitset indexed by days since the window start.
+	 * @param windowStart epoch day
+	 * @param length days of the window.
+	 * @param holiday epoch day of the holiday.
+	 * @return observed epoch day else NOT_OBSERVED, e.g. an unobserved holiday.
+	 */
+	private static int observedDay(long[] days, int windowStart, int length, int holiday) {
+		int dayOfWeek = EpochDays.dayOfWeek(holiday);
+
+		int response = NOT_OBSERVED;
+
+		if(isSet(days, holiday - windowStart, length)) {
+			response = holiday;
+		}
+		else if(dayOfWeek == Calendar.SATURDAY && isSet(days, holiday - 1 - windowStart, length)) {
+			response = holiday - 1;
+		}
+		else if(dayOfWeek == Calendar.SUNDAY && isSet(days, holiday + 1 - windowStart, length)) {
+			response = holiday + 1;
+		}
+
+		return response;
+	}
+
+	/**
+	 * @param days bitset
+	 * @param day index
+	 * @param length bits of the bitset in use.
+	 * @return true if the day is within the bitset and set else false.
+	 */
+	private static boolean isSet(long[] days, int day, int length) {
+		return 0 <= day && day < length && 0 != (days[day >>> 6] & (1L << day));
+	}
+
+	/**
+	 * <p>Build the holiday table for the year from epoch days, e.g. closure days of a corporate calendar.</p>
+	 * @param year
+	 * @param epochDays holidays, those outside the year and its margins are ignored.
+	 * @return HolidayYear
+	 */
+	static HolidayYear of(int year, int[] epochDays) {
+		int windowStart = EpochDays.of(year, Calendar.JANUARY, 1) - MARGIN;
+		int length = EpochDays.of(year, Calendar.DECEMBER, 31) + MARGIN - windowStart + 1;
+
+		long[] days = new long[(length + 63) >>> 6];
+
+		for(int epochDay : epochDays) {
+			int day = epochDay - windowStart;
+
+			if(0 <= day && day < length) {
+				days[day >>> 6] |= 1L << day;
+			}
+		}
+
+		return new HolidayYear(year, days);
+	}
+
+	/**
+	 * <p>Combine the holidays observed for the year and its neighbours over the window of the year.</p>
+	 * @param previous holidays observed for the previous year.
+	 * @param current holidays observed for the year.
+	 * @param next holidays observed for the next year.
+	 * @return HolidayYear for the year of current, a day of its window is a holiday if any of the years observes it.
+	 */
+	public static HolidayYear span(HolidayYear previous, HolidayYear current, HolidayYear next) {
+		long[] days = current.days.clone();
+
+		for(int epochDay=current.windowStart; epochDay <= current.windowEnd; epochDay++) {
+			if(previous.isHoliday(epochDay) || next.isHoliday(epochDay)) {
+				int day = epochDay - current.windowStart;
+				days[day >>> 6] |= 1L << day;
+			}
+		}
+
+		return new HolidayYear(current.year, days);
+	}
+
+	/**
+	 * @param epochDay days since January 1, 1970.
+	 * @return true if the epoch day is within the year or its margins else false.
+	 */
+	public boolean covers(int epochDay) {
+		return windowStart <= epochDay && epochDay <= windowEnd;
+	}
+
+	/**
+	 * <p>Is the date a holiday?</p>
+	 * @param date
+	 * @return true if the date is a holiday within the window of this year else false.
+	 */
+	public boolean isHoliday(Calendar date) {
+		return date != null ? this.isHoliday(EpochDays.of(date)) : false;
+	}
+
+	/**
+	 * <p>Is the epoch day a holiday?</p>
+	 * @param epochDay days since January 1, 1970.
+	 * @return true if the date is a holiday within the window of this year else false.
+	 */
+	public boolean isHoliday(int epochDay) {
+		int day = epochDay - windowStart;
+
+		return this.covers(epochDay) ? 0 != (days[day >>> 6] & (1L << day)) : false;
+	}
+
+	/**
+	 * @param epochDay days since January 1, 1970.
+	 * @return the holiday this year observes on the epoch day else null, also for a span which names no day.
+	 */
+	public HolidayEnum getHolidayName(int epochDay) {
+		HolidayEnum response = null;
+
+		for(int index=0; index < namedDays.length; index++) {
+			if(namedDays[index] == epochDay) {
+				response = names[index];
+				break;
+			}
+		}
+
+		return response;
+	}
+
+	/**
+	 * @return sorted epoch days of the holidays within the window of this year.
+	 */
+	public int[] toEpochDays() {
+		return toEpochDays(days, windowStart, holidayCount);
+	}
+
+	/**
+	 * @param days bitset indexed by days since the window start.
+	 * @param windowStart epoch day
+	 * @param holidayCount bits set.
+	 * @return sorted epoch days of the bits set.
+	 */
+	private static int[] toEpochDays(long[] days, int windowStart, int holidayCount) {
+		int[] response = new int[holidayCount];
+
+		int index = 0;
+		for(int word=0; word < days.length; word++) {
+			long bits = days[word];
+
+			while(bits != 0) {
+				response[index++] = windowStart + (word << 6) + Long.numberOfTrailingZeros(bits);
+				bits &= bits - 1;
+			}
+		}
+
+		return response;
+	}
+
+	/**
+	 * <p>Is the day of the year a holiday?</p>
+	 * @param dayOfYear Calendar.DAY_OF_YEAR value (1..366).
+	 * @return true if holiday else false.
+	 */
+	public boolean isHolidayDayOfYear(int dayOfYear) {
+		return 0 < dayOfYear && dayOfYear <= 366 ? this.isHoliday(firstEpochDay + dayOfYear - 1) : false;
+	}
+}
@@ -0,0 +1,70 @@
+package org.wrk.date.forecast;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * <h3>HolidayYearCache</h3>
+ * <p>
+ * Holiday years computed once per year and read without boxing the year.<br>
+ * Years FIRST_YEAR..LAST_YEAR are read from an array indexed by year; other years, and the first computation of
+ * every year, go through a concurrent map so concurrent callers for the same year wait for the first.
+ * </p>
+ * <p>
+ * Clearing swaps in a new cache, so a year still being built from the previous holidays never lands in the new cache.
+ * </p>
+ * <p>
+ * The array is written without a lock.  HolidayYear is immutable with final fields, so a reader either sees no
+ * year and falls back to the map or sees a fully built year.
+ * </p>
+ * @author Kelly Willard
+ * @see org.wrk.date.forecast.HolidayYear
+ */
+final class HolidayYearCache {
+	// Years read from the array.
+	static final int FIRST_YEAR = 1900;
+
+	static final int LAST_YEAR = 2399;
+
+	private final HolidayYear[] years = new HolidayYear[LAST_YEAR - FIRST_YEAR + 1];
+
+	private final Map<Integer, HolidayYear> computed = new ConcurrentHashMap<>();
+
+	/**
+	 * <p>constructor</p>
+	 */
+	HolidayYearCache() {
+	}
+
+	/**
+	 * @param year
+	 * @return the holiday year if computed else null.
+	 */
+	HolidayYear get(int year) {
+		int slot = year - FIRST_YEAR;
+
+		return 0 <= slot && slot < years.length ? years[slot] : computed.get(year);
+	}
+
+	/**
+	 * @param year
+	 * @param compute computes the holiday year, at most once per year.
+	 * @return the holiday year.
+	 */
+	HolidayYear computeIfAbsent(int year, IntFunction<HolidayYear> compute) {
+		HolidayYear response = this.get(year);
+
+		if(response == null) {
+			response = computed.computeIfAbsent(year, compute::apply);
+
+			int slot = year - FIRST_YEAR;
+
+			if(0 <= slot && slot < years.length) {
+				years[slot] = response;
+			}
+		}
+
+		return response;
+	}
+}
@@ -0,0 +1,301 @@
+package org.wrk.date.forecast;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <h3>SharedBusinessDayStore</h3>
+ * <p>
+ * Off-heap store of business day bitsets shared by many calendars, e.g. one per tenant in a multi-tenant deployment.<br>
+ * Every calendar covers the same range of years and is held as one bit per day in a single direct ByteBuffer.
+ * Calendars with identical business days are stored once and share a handle.
+ * </p>
+ * <p>
+ * Lookups take the int handle returned by register and read the direct buffer only, so no on-heap holiday objects
+ * are needed once a calendar is registered.  After registering, a tenant ForecastDate may release its own tables
+ * with ForecastDate.clearHolidayTables().
+ * </p>
+ * <h4>Example:</h4>
+ * <pre>
+ * SharedBusinessDayStore store = new SharedBusinessDayStore(2000, 2100, 64);
+ * int tenant = store.register(tenantForecastDate, ForecastCriteriaEnum.ALL_CRITERIA);
+ * int payDay = store.forecastEpochDay(tenant, dueDay, ForecastDirectionEnum.BEFORE);
+ * </pre>
+ * @author Kelly Willard
+ * @see org.wrk.date.forecast.BusinessDayIndex
+ */
+public final class SharedBusinessDayStore {
+	@Getter @Setter(AccessLevel.NONE) private final int firstYear;
+
+	@Getter @Setter(AccessLevel.NONE) private final int lastYear;
+
+	@Getter @Setter(AccessLevel.NONE) private final int firstEpochDay;
+
+	@Getter @Setter(AccessLevel.NONE) private final int lastEpochDay;
+
+	@Getter @Setter(AccessLevel.NONE) private final int capacity;
+
+	// Distinct calendars stored so far.
+	@Getter @Setter(AccessLevel.NONE) private volatile int calendars = 0;
+
+	// Bytes of one calendar bitset.
+	private final int calendarBytes;
+
+	private final ByteBuffer region;
+
+	// Registration only: handles of the stored calendars by content hash.
+	private final Map<Integer, List<Integer>> handlesByHash = new HashMap<>();
+
+	/**
+	 * <p>constructor</p>
+	 * @param firstYear
+	 * @param lastYear
+	 * @param capacity maximum number of distinct calendars.
+	 */
+	public SharedBusinessDayStore(int firstYear, int lastYear, int capacity) {
+		this.firstYear = Math.min(firstYear, lastYear);
+		this.lastYear = Math.max(firstYear, lastYear);
+		this.firstEpochDay = EpochDays.of(this.firstYear, Calendar.JANUARY, 1);
+		this.lastEpochDay = EpochDays.of(this.lastYear, Calendar.DECEMBER, 31);
+		this.capacity = Math.max(1, capacity);
+
+		int words = (lastEpochDay - firstEpochDay) / Long.SIZE + 1;
+
+		this.calendarBytes = words * Long.BYTES;
+		this.region = ByteBuffer.allocateDirect(Math.multiplyExact(calendarBytes, this.capacity)).order(ByteOrder.nativeOrder());
+	}
+
+	/**
+	 * <p>Register the business days of a calendar under the criteria.</p>
+	 * @param forecastDate supplies the holidays.
+	 * @param criteria days meeting the criteria are not business days.
+	 * @return handle of the calendar.
+	 * @throws IllegalStateException if the store is full.
+	 */
+	public int register(ForecastDate forecastDate, ForecastCriteriaEnum criteria) {
+		return this.register(BusinessDayIndex.of(forecastDate, criteria, firstYear, lastYear));
+	}
+
+	/**
+	 * <p>Register the business days of an index.  Days outside the index range are stored as non business days.</p>
+	 * @param index
+	 * @return handle of the calendar; identical calendars share a handle.
+	 * @throws IllegalStateException if the store is full.
+	 */
+	public synchronized int register(BusinessDayIndex index) {
+		long[] words = new long[calendarBytes / Long.BYTES];
+
+		for(int epochDay=firstEpochDay; epochDay <= lastEpochDay; epochDay++) {
+			if(index.isBusinessDay(epochDay)) {
+				int bit = epochDay - firstEpochDay;
+				words[bit >>> 6] |= 1L << bit;
+			}
+		}
+
+		int hash = Arrays.hashCode(words);
+
+		// Is the calendar already stored?
+		List<Integer> candidates = handlesByHash.computeIfAbsent(hash, key -> new ArrayList<>());
+
+		for(int handle : candidates) {
+			if(this.contentEquals(handle, words)) {
+				return handle;
+			}
+		}
+
+		if(calendars == capacity) {
+			throw new IllegalStateException("Shared business day store is full: " + capacity + " calendars");
+		}
+
+		int handle = calendars;
+		int base = handle * calendarBytes;
+
+		for(int word=0; word < words.length; word++) {
+			region.putLong(base + word * Long.BYTES, words[word]);
+		}
+
+		candidates.add(handle);
+
+		// Publish the calendar.
+		calendars = handle + 1;
+
+		return handle;
+	}
+
+	/**
+	 * @param handle
+	 * @param words
+	 * @return true if the stored calendar holds the words else false.
+	 */
+	private boolean contentEquals(int handle, long[] words) {
+		int base = handle * calendarBytes;
+
+		for(int word=0; word < words.length; word++) {
+			if(region.getLong(base + word * Long.BYTES) != words[word]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * @param handle
+	 * @param word
+	 * @return the stored bits of the calendar word.
+	 */
+	private long word(int handle, int word) {
+		return region.getLong(handle * calendarBytes + word * Long.BYTES);
+	}
+
+	/**
+	 * @param handle
+	 * @return true if the handle names a registered calendar.
+	 */
+	private boolean isRegistered(int handle) {
+		return 0 <= handle && handle < calendars;
+	}
+
+	/**
+	 * <p>Is the epoch day a business day of the calendar?</p>
+	 * @param handle returned by register.
+	 * @param epochDay days since January 1, 1970.
+	 * @return true if business day else false.  Dates outside the store range are never business days.
+	 */
+	public boolean isBusinessDay(int handle, int epochDay) {
+		boolean response = false;
+
+		if(this.isRegistered(handle) && firstEpochDay <= epochDay && epochDay <= lastEpochDay) {
+			int bit = epochDay - firstEpochDay;
+
+			response = 0 != (this.word(handle, bit >>> 6) & (1L << bit));
+		}
+
+		return response;
+	}
+
+	/**
+	 * @param handle returned by register.
+	 * @param epochDay days since January 1, 1970.
+	 * @return first business day on or after the epoch day else BusinessDayIndex.NONE.
+	 */
+	public int nextBusinessDay(int handle, int epochDay) {
+		int response = BusinessDayIndex.NONE;
+
+		if(this.isRegistered(handle) && epochDay <= lastEpochDay) {
+			int bit = Math.max(0, epochDay - firstEpochDay);
+			int word = bit >>> 6;
+			int words = calendarBytes / Long.BYTES;
+
+			// Ignore the days before the epoch day in its word.
+			long bits = this.word(handle, word) & (-1L << bit);
+
+			while(bits == 0 && ++word < words) {
+				bits = this.word(handle, word);
+			}
+
+			if(bits != 0) {
+				response = firstEpochDay + (word << 6) + Long.numberOfTrailingZeros(bits);
+			}
+		}
+
+		return response;
+	}
+
+	/**
+	 * @param handle returned by register.
+	 * @param epochDay days since January 1, 1970.
+	 * @return last business day on or before the epoch day else BusinessDayIndex.NONE.
+	 */
+	public int previousBusinessDay(int handle, int epochDay) {
+		int response = BusinessDayIndex.NONE;
+
+		if(this.isRegistered(handle) && firstEpochDay <= epochDay) {
+			int bit = Math.min(lastEpochDay, epochDay) - firstEpochDay;
+			int word = bit >>> 6;
+
+			// Ignore the days after the epoch day in its word.
+			long bits = this.word(handle, word) & (-1L >>> (63 - (bit & 63)));
+
+			while(bits == 0 && 0 <= --word) {
+				bits = this.word(handle, word);
+			}
+
+			if(bits != 0) {
+				response = firstEpochDay + (word << 6) + 63 - Long.numberOfLeadingZeros(bits);
+			}
+		}
+
+		return response;
+	}
+
+	/**
+	 * <p>Forecast the epoch day to a business day of the calendar.</p>
+	 * @param handle returned by register.
+	 * @param epochDay days since January 1, 1970.
+	 * @param direction
+	 * @return adjusted epoch day else BusinessDayIndex.NONE if no business day exists in the store range.
+	 * @see org.wrk.date.forecast.ForecastDirectionEnum
+	 */
+	public int forecastEpochDay(int handle, int epochDay, ForecastDirectionEnum direction) {
+		int response = BusinessDayIndex.NONE;
+
+		if(direction != null && this.isRegistered(handle)) {
+			if(this.isBusinessDay(handle, epochDay)) {
+				response = epochDay;
+			}
+			else {
+				int before = this.previousBusinessDay(handle, epochDay);
+				int after = this.nextBusinessDay(handle, epochDay);
+
+				switch(direction) {
+				case BEFORE:
+					response = before;
+					break;
+				case AFTER:
+					response = after;
+					break;
+				case NEAREST:
+					response = after == BusinessDayIndex.NONE || (before != BusinessDayIndex.NONE && epochDay - before <= after - epochDay) ? before : after;
+					break;
+				case MODIFIED_FOLLOWING:
+					response = after != BusinessDayIndex.NONE && this.isSameMonth(after, epochDay) ? after : before;
+					break;
+				case MODIFIED_PRECEDING:
+					response = before != BusinessDayIndex.NONE && this.isSameMonth(before, epochDay) ? before : after;
+					break;
+				default:
+					break;
+				}
+			}
+		}
+
+		return response;
+	}
+
+	/**
+	 * @param epochDay
+	 * @param otherEpochDay
+	 * @return true if both epoch days fall in the same month of the same year.
+	 */
+	private boolean isSameMonth(int epochDay, int otherEpochDay) {
+		return EpochDays.civil(epochDay) >> 5 == EpochDays.civil(otherEpochDay) >> 5;
+	}
+
+	/**
+	 * @return off-heap bytes reserved by the store.
+	 */
+	public long getReservedBytes() {
+		return region.capacity();
+	}
+}
@@ -0,0 +1,91 @@
+package org.wrk.date.forecast;
+
+import java.util.Calendar;
+
+/**
+ * <h3>WeekDayMask</h3>
+ * <p>
+ * Seven bit masks of the days of the week, one bit per Calendar.SUNDAY..Calendar.SATURDAY.<br>
+ * A ForecastDate carries the mask of its weekend days; the WEEKEND and ALL_CRITERIA criteria avoid those days while
+ * SATURDAY and SUNDAY keep avoiding Saturday or Sunday alone.
+ * </p>
+ * <h4>Example:</h4>
+ * <pre>
+ * forecastDate.setWeekEndDays(WeekDayMask.FRIDAY_SATURDAY);
+ * forecastDate.setWeekEndDays(WeekDayMask.of(Calendar.FRIDAY));
+ * </pre>
+ * @author Kelly Willard
+ * @see org.wrk.date.forecast.ForecastDate
+ */
+public final class WeekDayMask {
+	// No day of the week.
+	public static final int NONE = 0;
+
+	// Every day of the week, not a valid weekend since no business day would remain.
+	public static final int ALL = 0x7F;
+
+	// The default weekend.
+	public static final int SATURDAY_SUNDAY = bit(Calendar.SATURDAY) | bit(Calendar.SUNDAY);
+
+	public static final int FRIDAY_SATURDAY = bit(Calendar.FRIDAY) | bit(Calendar.SATURDAY);
+
+	/**
+	 * <p>constructor</p>
+	 */
+	private WeekDayMask() {
+	}
+
+	/**
+	 * @param daysOfWeek Calendar.SUNDAY..Calendar.SATURDAY
+	 * @return mask of the days of the week.
+	 * @throws IllegalArgumentException if a day is not Calendar.SUNDAY..Calendar.SATURDAY.
+	 */
+	public static int of(int... daysOfWeek) {
+		int response = NONE;
+
+		for(int dayOfWeek : daysOfWeek) {
+			if(dayOfWeek < Calendar.SUNDAY || Calendar.SATURDAY < dayOfWeek) {
+				throw new IllegalArgumentException("Day of the week " + dayOfWeek + " is not Calendar.SUNDAY..Calendar.SATURDAY");
+			}
+
+			response |= bit(dayOfWeek);
+		}
+
+		return response;
+	}
+
+	/**
+	 * @param mask
+	 * @param dayOfWeek Calendar.SUNDAY..Calendar.SATURDAY
+	 * @return true if the mask holds the day of the week else false.
+	 */
+	public static boolean contains(int mask, int dayOfWeek) {
+		return (mask & bit(dayOfWeek)) != 0;
+	}
+
+	/**
+	 * @param mask
+	 * @return the mask.
+	 * @throws IllegalArgumentException if the mask holds bits other than the seven days of the week, or all seven.
+	 */
+	public static int check(int mask) {
+		if((mask & ~ALL) != 0) {
+			throw new IllegalArgumentException("Week day mask " + Integer.toBinaryString(mask) + " has more than seven days");
+		}
+
+		// A forecast would walk forever looking for a business day.
+		if(mask == ALL) {
+			throw new IllegalArgumentException("Week day mask " + Integer.toBinaryString(mask) + " leaves no business day");
+		}
+
+		return mask;
+	}
+
+	/**
+	 * @param dayOfWeek Calendar.SUNDAY..Calendar.SATURDAY
+	 * @return bit of the day of the week.
+	 */
+	static int bit(int dayOfWeek) {
+		return 1 << (dayOfWeek - Calendar.SUNDAY);
+	}
+}
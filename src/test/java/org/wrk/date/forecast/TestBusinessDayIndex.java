@@ -0,0 +1,138 @@
+package org.wrk.date.forecast;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Calendar;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <h3>TestBusinessDayIndex</h3>
+ * <p>Every query is checked against a day by day walk using ForecastDate.isBusinessDay.</p>
+ * 
+ * @author Kelly Willard
+ */
+@ExtendWith(value = { SpringExtension.class })
+@ContextConfiguration(locations= {"/test-holiday-application-context.xml"})
+public class TestBusinessDayIndex {
+	
+	@Autowired
+	@Getter @Setter private ForecastDate forecastCorpDate;
+	
+	private final int iyear = Calendar.getInstance().get(Calendar.YEAR);
+	
+	/**
+	 * constructor
+	 */
+	public TestBusinessDayIndex() {
+	}
+	
+	/**
+	 * @param criteria
+	 * @param from
+	 * @param to
+	 * @return business days counted day by day.
+	 */
+	private int walkCount(ForecastCriteriaEnum criteria, int from, int to) {
+		int response = 0;
+		
+		for(int epochDay=from; epochDay <= to; epochDay++) {
+			if(this.getForecastCorpDate().isBusinessDay(epochDay, criteria)) {
+				response++;
+			}
+		}
+		
+		return response;
+	}
+	
+	@Test
+	public void testCountMonths() {
+		for(ForecastCriteriaEnum criteria : ForecastCriteriaEnum.values()) {
+			BusinessDayIndex index = this.getForecastCorpDate().getBusinessDayIndex(criteria, iyear, iyear + 2);
+			
+			for(int year=iyear; year <= iyear + 2; year++) {
+				for(int month=Calendar.JANUARY; month <= Calendar.DECEMBER; month++) {
+					int from = this.getForecastCorpDate().toEpochDay(year, month, 1);
+					int to = this.getForecastCorpDate().toEpochDay(year, month + 1, 1) - 1;
+					
+					assertTrue(index.countBusinessDaysInMonth(year, month) == this.walkCount(criteria, from, to), "Month count differs.");
+					
+					assertTrue(index.listBusinessDaysInMonth(year, month).length == index.countBusinessDaysInMonth(year, month), "Month listing differs.");
+				}
+			}
+		}
+	}
+	
+	@Test
+	public void testCountQuarterAndYear() {
+		BusinessDayIndex index = this.getForecastCorpDate().getBusinessDayIndex(ForecastCriteriaEnum.ALL_CRITERIA, iyear, iyear + 1);
+		
+		int total = 0;
+		
+		for(int quarter=1; quarter <= 4; quarter++) {
+			int[] days = index.listBusinessDaysInQuarter(iyear, quarter);
+			
+			assertTrue(days.length == index.countBusinessDaysInQuarter(iyear, quarter), "Quarter listing differs.");
+			
+			for(int day : days) {
+				assertTrue(this.getForecastCorpDate().isBusinessDay(day, ForecastCriteriaEnum.ALL_CRITERIA), "Listed day is not a business day.");
+			}
+			
+			total += days.length;
+		}
+		
+		assertTrue(total == index.countBusinessDaysInYear(iyear), "Quarters do not add up to the year.");
+	}
+	
+	@Test
+	public void testCountRange() {
+		BusinessDayIndex index = this.getForecastCorpDate().getBusinessDayIndex(ForecastCriteriaEnum.ALL_CRITERIA, iyear, iyear + 1);
+		
+		int first = this.getForecastCorpDate().toEpochDay(iyear, Calendar.JANUARY, 1);
+		
+		for(int from=first; from < first + 400; from += 37) {
+			for(int to=from - 1; to < from + 200; to += 13) {
+				assertTrue(index.countBusinessDaysBetween(from, to) == this.walkCount(ForecastCriteriaEnum.ALL_CRITERIA, from, to), "Range count differs.");
+				
+				assertTrue(index.listBusinessDaysBetween(from, to).length == index.countBusinessDaysBetween(from, to), "Range listing differs.");
+			}
+		}
+	}
+	
+	@Test
+	public void testNthAndLastBusinessDay() {
+		BusinessDayIndex index = this.getForecastCorpDate().getBusinessDayIndex(ForecastCriteriaEnum.ALL_CRITERIA, iyear, iyear);
+		
+		for(int month=Calendar.JANUARY; month <= Calendar.DECEMBER; month++) {
+			int[] days = index.listBusinessDaysInMonth(iyear, month);
+			
+			for(int n=1; n <= days.length; n++) {
+				assertTrue(index.nthBusinessDayOfMonth(iyear, month, n) == days[n - 1], "Nth business day differs.");
+			}
+			
+			assertTrue(index.nthBusinessDayOfMonth(iyear, month, days.length + 1) == BusinessDayIndex.NONE, "Nth business day beyond the month.");
+			
+			assertTrue(index.lastBusinessDayOfMonth(iyear, month) == days[days.length - 1], "Last business day differs.");
+		}
+	}
+	
+	@Test
+	public void testOutsideRange() {
+		BusinessDayIndex index = this.getForecastCorpDate().getBusinessDayIndex(ForecastCriteriaEnum.ALL_CRITERIA, iyear, iyear);
+		
+		assertTrue(index.countBusinessDaysInMonth(iyear + 1, Calendar.JANUARY) == 0, "Month outside the range has business days.");
+		
+		assertTrue(index.lastBusinessDayOfMonth(iyear - 1, Calendar.DECEMBER) == BusinessDayIndex.NONE, "Month outside the range has business days.");
+		
+		int last = this.getForecastCorpDate().toEpochDay(iyear, Calendar.DECEMBER, 31);
+		
+		assertTrue(index.countBusinessDaysBetween(last - 10, last + 100) == this.walkCount(ForecastCriteriaEnum.ALL_CRITERIA, last - 10, last), "Range is not clamped.");
+	}
+}
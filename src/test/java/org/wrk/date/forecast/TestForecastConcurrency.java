@@ -0,0 +1,194 @@
+package org.wrk.date.forecast;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * <h3>TestForecastConcurrency</h3>
+ * <p>
+ * Randomized multi-threaded correctness harness.<br>
+ * Many threads share one cold ForecastDate and race to build its holiday tables while forecasting.
+ * Every result is compared with a single threaded reference; any difference points at a data race.
+ * </p>
+ * @author Kelly Willard
+ */
+public class TestForecastConcurrency {
+	
+	private static final int INPUTS = 4096;
+	
+	private static final int OPERATIONS_PER_THREAD = 20_000;
+	
+	private final int threads = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+	
+	private final int[] epochDays = new int[INPUTS];
+	
+	private final ForecastCriteriaEnum[] criteria = new ForecastCriteriaEnum[INPUTS];
+	
+	private final ForecastDirectionEnum[] directions = new ForecastDirectionEnum[INPUTS];
+	
+	private final int[] expected = new int[INPUTS];
+	
+	/**
+	 * constructor
+	 */
+	public TestForecastConcurrency() {
+		ForecastDate reference = new ForecastDate();
+		
+		SplittableRandom random = new SplittableRandom(29L);
+		
+		Calendar tomorrow = Calendar.getInstance();
+		tomorrow.add(Calendar.DAY_OF_MONTH, 1);
+		
+		int first = reference.toEpochDay(tomorrow);
+		
+		// Random future dates over the next forty years, each forecast once by the reference.
+		for(int index=0; index < INPUTS; index++) {
+			epochDays[index] = first + random.nextInt(40 * 366);
+			criteria[index] = ForecastCriteriaEnum.values()[random.nextInt(ForecastCriteriaEnum.values().length)];
+			directions[index] = ForecastDirectionEnum.values()[random.nextInt(ForecastDirectionEnum.values().length)];
+			expected[index] = reference.forecastEpochDay(epochDays[index], criteria[index], directions[index]);
+		}
+	}
+	
+	/**
+	 * <p>Run the task on every thread at once and return the failures.</p>
+	 * @param task receives the thread number and records failures.
+	 * @return failures reported by the threads.
+	 * @throws Exception
+	 */
+	private Queue<String> race(ThreadTask task) throws Exception {
+		Queue<String> failures = new ConcurrentLinkedQueue<>();
+		
+		CountDownLatch start = new CountDownLatch(1);
+		
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			
+			for(int thread=0; thread < threads; thread++) {
+				int number = thread;
+				
+				futures.add(executor.submit(() -> {
+					start.await();
+					task.run(number, failures);
+					return null;
+				}));
+			}
+			
+			// Release every thread together to maximize contention.
+			start.countDown();
+			
+			for(Future<?> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		
+		return failures;
+	}
+	
+	@Test
+	public void testSharedInstanceForecasts() throws Exception {
+		ForecastDate shared = new ForecastDate();
+		
+		Queue<String> failures = this.race((thread, out) -> {
+			SplittableRandom random = new SplittableRandom(thread);
+			
+			for(int operation=0; operation < OPERATIONS_PER_THREAD && out.size() < 10; operation++) {
+				int index = random.nextInt(INPUTS);
+				
+				int actual;
+				
+				// Mix the Calendar and epoch day entry points.
+				if(0 == operation % 2) {
+					actual = shared.forecastEpochDay(epochDays[index], criteria[index], directions[index]);
+				}
+				else {
+					Calendar date = shared.toCalendar(epochDays[index]);
+					date.set(Calendar.HOUR_OF_DAY, 12);
+					
+					actual = shared.toEpochDay(shared.forecastDate(date, criteria[index], directions[index]));
+				}
+				
+				if(actual != expected[index]) {
+					out.add(String.format("thread %d: %s %s %s expected %s but was %s", thread, 
+							shared.toCalendar(epochDays[index]).getTime(), criteria[index], directions[index], 
+							shared.toCalendar(expected[index]).getTime(), shared.toCalendar(actual).getTime()));
+				}
+			}
+		});
+		
+		assertTrue(failures.isEmpty(), "Concurrent forecasts differ from reference: " + failures);
+	}
+	
+	@Test
+	public void testSharedInstanceTablesExtended() throws Exception {
+		ForecastDate shared = new ForecastDate();
+		
+		int iyear = Calendar.getInstance().get(Calendar.YEAR);
+		
+		Queue<String> failures = this.race((thread, out) -> {
+			// Every thread extends the table in a different direction.
+			HolidayTable table = shared.getHolidayTable(iyear - thread, iyear + thread);
+			
+			if(!table.coversYear(iyear - thread) || !table.coversYear(iyear + thread)) {
+				out.add(String.format("thread %d: table %d-%d does not cover its request", thread, table.getFirstYear(), table.getLastYear()));
+			}
+			
+			HolidayYear holidays = shared.getHolidayYear(iyear + thread);
+			
+			for(int epochDay : holidays.toEpochDays()) {
+				// Holidays in the margins of the year may fall outside the table range.
+				if(table.covers(epochDay) && !table.isHoliday(epochDay)) {
+					out.add(String.format("thread %d: table is missing %s", thread, shared.toCalendar(epochDay).getTime()));
+				}
+			}
+		});
+		
+		HolidayTable table = shared.getHolidayTable();
+		
+		assertTrue(table.coversYear(iyear - threads + 1) && table.coversYear(iyear + threads - 1), "Table lost a concurrent extension.");
+		
+		assertTrue(failures.isEmpty(), "Concurrent table builds are inconsistent: " + failures);
+	}
+	
+	@Test
+	public void testSharedInstanceYearInitializedOnce() throws Exception {
+		ForecastDate shared = new ForecastDate();
+		
+		int iyear = Calendar.getInstance().get(Calendar.YEAR) + 1;
+		
+		HolidayYear[] seen = new HolidayYear[threads];
+		
+		Queue<String> failures = this.race((thread, out) -> seen[thread] = shared.getHolidayYear(iyear));
+		
+		for(HolidayYear holidays : seen) {
+			assertTrue(holidays == seen[0], "Year was initialized more than once.");
+		}
+		
+		assertTrue(failures.isEmpty(), "Concurrent initialization failed: " + failures);
+	}
+	
+	/**
+	 * <p>Work run by each racing thread.</p>
+	 */
+	@FunctionalInterface
+	private interface ThreadTask {
+		void run(int thread, Queue<String> failures) throws Exception;
+	}
+}
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -185,6 +186,125 @@ public class TestForecastDate {
 		assertTrue(federalForecast.avoidWeekend(ForecastCriteriaEnum.WEEKEND),"Weekend not avoided.");
 	}
 	
+	@Test
+	public void testEpochDayDoesNotModifyDate() {
+		Calendar today = Calendar.getInstance();
+		
+		long millis = today.getTimeInMillis();
+		
+		int epochDay = federalForecast.toEpochDay(today);
+		
+		assertTrue(today.getTimeInMillis() == millis, "Date was modified.");
+		
+		assertTrue(federalForecast.toCalendar(epochDay).getTimeInMillis() == federalForecast.deleteTimestamp(today).getTimeInMillis(), "Epoch day is not the same day.");
+	}
+	
+	@Test
+	public void testEpochDayWeekEnd() {
+		Calendar date = Calendar.getInstance();
+		
+		for(int index=0; index < 14; index++) {
+			int epochDay = federalForecast.toEpochDay(date);
+			
+			int iyear = date.get(Calendar.YEAR);
+			int imonth = date.get(Calendar.MONTH);
+			int iday = date.get(Calendar.DAY_OF_MONTH);
+			
+			assertTrue(federalForecast.isSaturday(date) == federalForecast.isSaturday(epochDay), "Saturday mismatch.");
+			assertTrue(federalForecast.isSunday(date) == federalForecast.isSunday(epochDay), "Sunday mismatch.");
+			assertTrue(federalForecast.isWeekEnd(date) == federalForecast.isWeekEnd(epochDay), "Weekend mismatch.");
+			assertTrue(federalForecast.isWeekEnd(date) == federalForecast.isWeekEnd(iyear, imonth, iday), "Weekend mismatch.");
+			
+			date.add(Calendar.DAY_OF_MONTH, 1);
+		}
+	}
+	
+	@Test
+	public void testForecastEpochDay() {
+		Calendar today = this.generateFutureHolidayDate(HolidayEnum.CHRISTMAS_DAY, 3);
+		
+		Calendar availableDay = federalForecast.forecastDate(today, ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.AFTER);
+		
+		int epochDay = federalForecast.forecastEpochDay(federalForecast.toEpochDay(today), ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.AFTER);
+		
+		assertTrue(federalForecast.toEpochDay(availableDay) == epochDay, "Forecast epoch day is not the forecast date.");
+	}
+	
+	/**
+	 * <p>Generate a future date on the day of the month that falls on the day of the week.</p>
+	 * @param dayOfWeek
+	 * @param lastDayOfMonth true for the last day of the month else the first.
+	 * @return Calendar future date.
+	 */
+	private Calendar generateFutureMonthBoundary(int dayOfWeek, boolean lastDayOfMonth) {
+		Calendar date = federalForecast.deleteTimestamp(Calendar.getInstance());
+		
+		date.add(Calendar.YEAR, 1);
+		
+		do {
+			date.add(Calendar.MONTH, 1);
+			date.set(Calendar.DAY_OF_MONTH, lastDayOfMonth ? date.getActualMaximum(Calendar.DAY_OF_MONTH) : 1);
+		} while(date.get(Calendar.DAY_OF_WEEK) != dayOfWeek);
+		
+		return date;
+	}
+	
+	@Test
+	public void testForecastModifiedFollowing() {
+		Calendar today = this.generateFutureMonthBoundary(Calendar.SATURDAY, true);
+		
+		Calendar availableDay = federalForecast.forecastDate(today, ForecastCriteriaEnum.WEEKEND, ForecastDirectionEnum.MODIFIED_FOLLOWING);
+		
+		assertTrue(availableDay.get(Calendar.MONTH) == today.get(Calendar.MONTH), "Forecast date moved to the next month.");
+		
+		assertTrue(availableDay.get(Calendar.DAY_OF_WEEK) == Calendar.FRIDAY, "Forecast date is not the previous Friday.");
+	}
+	
+	@Test
+	public void testForecastModifiedPreceding() {
+		Calendar today = this.generateFutureMonthBoundary(Calendar.SUNDAY, false);
+		
+		Calendar availableDay = federalForecast.forecastDate(today, ForecastCriteriaEnum.WEEKEND, ForecastDirectionEnum.MODIFIED_PRECEDING);
+		
+		assertTrue(availableDay.get(Calendar.MONTH) == today.get(Calendar.MONTH), "Forecast date moved to the previous month.");
+		
+		assertTrue(availableDay.get(Calendar.DAY_OF_WEEK) == Calendar.MONDAY, "Forecast date is not the next Monday.");
+	}
+	
+	@Test
+	public void testForecastNearest() {
+		Calendar saturday = federalForecast.deleteTimestamp(this.generateFutureDayOfWeek(Calendar.getInstance(), Calendar.SATURDAY));
+		
+		Calendar sunday = (Calendar) saturday.clone();
+		sunday.add(Calendar.DAY_OF_MONTH, 1);
+		
+		Calendar fromSaturday = federalForecast.forecastDate(saturday, ForecastCriteriaEnum.WEEKEND, ForecastDirectionEnum.NEAREST);
+		
+		Calendar fromSunday = federalForecast.forecastDate(sunday, ForecastCriteriaEnum.WEEKEND, ForecastDirectionEnum.NEAREST);
+		
+		assertTrue(fromSaturday.get(Calendar.DAY_OF_WEEK) == Calendar.FRIDAY && saturday.after(fromSaturday), "Saturday is not moved to Friday.");
+		
+		assertTrue(fromSunday.get(Calendar.DAY_OF_WEEK) == Calendar.MONDAY && sunday.before(fromSunday), "Sunday is not moved to Monday.");
+	}
+	
+	@Test
+	public void testForecastNearestMatchesTwoCalls() {
+		Calendar today = this.generateFutureHolidayDate(HolidayEnum.CHRISTMAS_DAY, 2);
+		
+		for(int index=0; index < 60; index++) {
+			Calendar before = federalForecast.forecastDate(today, ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.BEFORE);
+			Calendar after = federalForecast.forecastDate(today, ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.AFTER);
+			Calendar nearest = federalForecast.forecastDate(today, ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.NEAREST);
+			
+			int day = federalForecast.toEpochDay(today);
+			Calendar expected = day - federalForecast.toEpochDay(before) <= federalForecast.toEpochDay(after) - day ? before : after;
+			
+			assertTrue(federalForecast.toEpochDay(nearest) == federalForecast.toEpochDay(expected), "Nearest differs from the closer of before and after.");
+			
+			today.add(Calendar.DAY_OF_MONTH, 1);
+		}
+	}
+	
 	@Test
 	public void testForecastHoliday() {		
 		Calendar today = this.generateFutureHolidayDate(HolidayEnum.CHRISTMAS_DAY, 3);
@@ -362,4 +482,67 @@ public class TestForecastDate {
 		
 		assertTrue(today.after(availableDay),"Today and Forecast date are the same day.");				
 	}
-}
\ No newline at end of file
+	
+	@Test
+	public void testLazyHolidays() {
+		ObservedHolidays holidays = new ObservedHolidays();
+		
+		ForecastDate fd = new ForecastDate(holidays, true);
+		
+		assertTrue(fd.isLazyHolidays(), "Forecast is not lazy.");
+		
+		assertTrue(0 == holidays.toHolidays().length, "Lazy holidays initialized during construction.");
+		
+		// Christmas of next year, built without reading the observed holidays, which would initialize them.
+		Calendar christmas = fd.toCalendar(fd.toEpochDay(Calendar.getInstance().get(Calendar.YEAR) + 1, Calendar.DECEMBER, 25));
+		
+		assertTrue(0 == holidays.toHolidays().length, "Lazy holidays initialized before the first forecast.");
+		
+		Calendar lazyDay = fd.forecastDate(christmas, ForecastCriteriaEnum.HOLIDAY);
+		
+		Calendar eagerDay = federalForecast.forecastDate(christmas, ForecastCriteriaEnum.HOLIDAY);
+		
+		assertTrue(0 < holidays.toHolidays().length, "Lazy holidays were not initialized on first use.");
+		
+		assertTrue(lazyDay.equals(eagerDay), "Lazy and eager forecasts differ.");
+	}
+	
+	@Test
+	public void testLazyHolidayYearComputedOnce() throws InterruptedException {
+		ForecastDate fd = new ForecastDate(null, true);
+		
+		int year = Calendar.getInstance().get(Calendar.YEAR) + 1;
+		
+		HolidayYear[] results = new HolidayYear[8];
+		Thread[] threads = new Thread[results.length];
+		
+		CountDownLatch start = new CountDownLatch(1);
+		
+		// Every thread asks for the same new year at once.
+		for(int index=0; index < threads.length; index++) {
+			int slot = index;
+			
+			threads[index] = new Thread(() -> {
+				try {
+					start.await();
+					
+					results[slot] = fd.getHolidayYear(year);
+				}
+				catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			threads[index].start();
+		}
+		
+		start.countDown();
+		
+		for(Thread thread : threads) {
+			thread.join();
+		}
+		
+		for(HolidayYear result : results) {
+			assertTrue(result == results[0], "Holiday year computed more than once.");
+		}
+	}
+}
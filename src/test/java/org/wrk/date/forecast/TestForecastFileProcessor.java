@@ -0,0 +1,271 @@
+package org.wrk.date.forecast;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <h3>TestForecastFileProcessor</h3>
+ * 
+ * @author Kelly Willard
+ */
+@ExtendWith(value = { SpringExtension.class })
+@ContextConfiguration(locations= {"/test-holiday-application-context.xml"})
+public class TestForecastFileProcessor {
+	
+	@Autowired
+	@Getter @Setter private ForecastDate forecastCorpDate;
+	
+	private SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
+	
+	/**
+	 * constructor
+	 */
+	public TestForecastFileProcessor() {
+	}
+	
+	/**
+	 * @param count
+	 * @return consecutive epoch days starting on December 20 of next year.
+	 */
+	private int[] generateEpochDays(int count) {
+		int iyear = Calendar.getInstance().get(Calendar.YEAR) + 1;
+		
+		int first = this.getForecastCorpDate().toEpochDay(iyear, Calendar.DECEMBER, 20);
+		
+		int[] response = new int[count];
+		
+		for(int index=0; index < count; index++) {
+			response[index] = first + index;
+		}
+		
+		return response;
+	}
+	
+	/**
+	 * @param epochDay
+	 * @return yyyy-MM-dd
+	 */
+	private String format(int epochDay) {
+		return sdf.format(this.getForecastCorpDate().toCalendar(epochDay).getTime());
+	}
+	
+	@Test
+	public void testProcessCsv() throws IOException {
+		int[] days = this.generateEpochDays(400);
+		
+		List<String> lines = new ArrayList<>();
+		lines.add("due_date,amount");
+		
+		for(int epochDay : days) {
+			lines.add(this.format(epochDay) + ",100.00");
+		}
+		
+		lines.add("2025-02-30,100.00");
+		
+		Path input = Files.createTempFile("forecast", ".csv");
+		Path output = Files.createTempFile("forecast", ".out");
+		
+		try {
+			Files.write(input, lines, StandardCharsets.US_ASCII);
+			
+			ForecastFileProcessor processor = new ForecastFileProcessor(this.getForecastCorpDate());
+			
+			// Small windows and several threads to cross window and chunk boundaries.
+			processor.setWindowSize(256);
+			processor.setParallelism(3);
+			
+			ForecastFileReport report = processor.process(input, output);
+			
+			assertTrue(report.getRows() == days.length, "Rows not forecast.");
+			assertTrue(report.getRejectedRows() == 2, "Header and invalid date not rejected.");
+			
+			List<String> results = Files.readAllLines(output, StandardCharsets.US_ASCII);
+			
+			assertTrue(results.size() == lines.size(), "Output rows do not match input rows.");
+			assertTrue(results.get(0).isEmpty() && results.get(results.size() - 1).isEmpty(), "Rejected rows not empty.");
+			
+			for(int index=0; index < days.length; index++) {
+				int expected = this.getForecastCorpDate().forecastEpochDay(days[index], ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.BEFORE);
+				
+				assertTrue(results.get(index + 1).equals(this.format(expected)), "Forecast differs for " + lines.get(index + 1));
+			}
+		}
+		finally {
+			Files.deleteIfExists(input);
+			Files.deleteIfExists(output);
+		}
+	}
+	
+	@Test
+	public void testProcessBinary() throws IOException {
+		int[] days = this.generateEpochDays(1000);
+		
+		ByteBuffer buffer = ByteBuffer.allocate(days.length * Integer.BYTES);
+		
+		for(int epochDay : days) {
+			buffer.putInt(epochDay);
+		}
+		
+		Path input = Files.createTempFile("forecast", ".bin");
+		Path output = Files.createTempFile("forecast", ".out");
+		
+		try {
+			Files.write(input, buffer.array());
+			
+			ForecastFileProcessor processor = new ForecastFileProcessor(this.getForecastCorpDate());
+			
+			processor.setInputFormat(ForecastFileFormatEnum.BINARY);
+			processor.setOutputFormat(ForecastFileFormatEnum.BINARY);
+			processor.setDirection(ForecastDirectionEnum.AFTER);
+			processor.setWindowSize(1001);
+			
+			ForecastFileReport report = processor.process(input, output);
+			
+			assertTrue(report.getRows() == days.length && report.getRejectedRows() == 0, "Rows not forecast.");
+			
+			ByteBuffer results = ByteBuffer.wrap(Files.readAllBytes(output));
+			
+			int[] expected = this.getForecastCorpDate().forecastEpochDays(days, ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.AFTER);
+			
+			for(int index=0; index < days.length; index++) {
+				assertTrue(results.getInt() == expected[index], "Forecast differs.");
+			}
+		}
+		finally {
+			Files.deleteIfExists(input);
+			Files.deleteIfExists(output);
+		}
+	}
+	
+	@Test
+	public void testProcessRejectsJulianYears() throws IOException {
+		ForecastDate forecastDate = this.getForecastCorpDate();
+		
+		List<String> lines = List.of("1582-12-31", "1000-07-04", "1583-01-03", "9999-12-30");
+		
+		int[] days = {
+				forecastDate.toEpochDay(1582, Calendar.DECEMBER, 31),
+				forecastDate.toEpochDay(1583, Calendar.JANUARY, 3),
+				forecastDate.toEpochDay(9999, Calendar.DECEMBER, 30) };
+		
+		ByteBuffer buffer = ByteBuffer.allocate(days.length * Integer.BYTES);
+		
+		for(int epochDay : days) {
+			buffer.putInt(epochDay);
+		}
+		
+		Path csv = Files.createTempFile("forecast", ".csv");
+		Path bin = Files.createTempFile("forecast", ".bin");
+		Path output = Files.createTempFile("forecast", ".out");
+		
+		try {
+			Files.write(csv, lines, StandardCharsets.US_ASCII);
+			Files.write(bin, buffer.array());
+			
+			ForecastFileProcessor processor = new ForecastFileProcessor(forecastDate);
+			
+			ForecastFileReport report = processor.process(csv, output);
+			
+			// Holidays before 1583 would be computed on the Julian calendar.
+			assertTrue(report.getRows() == 2 && report.getRejectedRows() == 2, "Years before 1583 not rejected.");
+			
+			List<String> results = Files.readAllLines(output, StandardCharsets.US_ASCII);
+			
+			assertTrue(results.get(0).isEmpty() && results.get(1).isEmpty(), "Rejected rows not empty.");
+			
+			// The rows at the ends of the supported years are forecast and written as they are, in four digit years.
+			assertTrue(results.get(2).equals("1583-01-03") && results.get(2).equals(this.format(forecastDate.forecastEpochDay(days[1], ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.BEFORE))), "1583-01-03 forecast differs: " + results.get(2));
+			
+			assertTrue(results.get(3).equals("9999-12-30") && results.get(3).equals(this.format(forecastDate.forecastEpochDay(days[2], ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.BEFORE))), "9999-12-30 forecast differs: " + results.get(3));
+			
+			processor.setInputFormat(ForecastFileFormatEnum.BINARY);
+			processor.setOutputFormat(ForecastFileFormatEnum.BINARY);
+			
+			report = processor.process(bin, output);
+			
+			assertTrue(report.getRows() == 2 && report.getRejectedRows() == 1, "Epoch day before 1583 not rejected.");
+			
+			ByteBuffer binaryResults = ByteBuffer.wrap(Files.readAllBytes(output));
+			
+			assertTrue(binaryResults.getInt() == ForecastFileProcessor.REJECTED, "Rejected epoch day forecast.");
+			
+			assertTrue(binaryResults.getInt() == days[1] && binaryResults.getInt() == days[2], "Epoch days at the ends of the supported years differ.");
+		}
+		finally {
+			Files.deleteIfExists(csv);
+			Files.deleteIfExists(bin);
+			Files.deleteIfExists(output);
+		}
+	}
+	
+	@Test
+	public void testProcessRejectsForecastsLeavingRange() throws IOException {
+		ForecastDate forecastDate = this.getForecastCorpDate();
+		
+		// 1583-01-01 is a Saturday, before it is December 1582; 9999-12-31 is a Friday, after it is January 10000.
+		String[][] cases = { { "1583-01-01", "BEFORE" }, { "9999-12-31", "AFTER" } };
+		
+		Path input = Files.createTempFile("forecast", ".csv");
+		Path output = Files.createTempFile("forecast", ".out");
+		
+		try {
+			for(String[] range : cases) {
+				ForecastDirectionEnum direction = ForecastDirectionEnum.valueOf(range[1]);
+				
+				Files.write(input, List.of(range[0], "2025-03-03"), StandardCharsets.US_ASCII);
+				
+				ForecastFileProcessor processor = new ForecastFileProcessor(forecastDate);
+				processor.setDirection(direction);
+				
+				ForecastFileReport report = processor.process(input, output);
+				
+				assertTrue(report.getRows() == 1 && report.getRejectedRows() == 1, range[0] + " " + direction + " not rejected.");
+				
+				List<String> results = Files.readAllLines(output, StandardCharsets.US_ASCII);
+				
+				assertTrue(results.size() == 2 && results.get(0).isEmpty(), range[0] + " " + direction + " written: " + results.get(0));
+				
+				assertTrue(results.get(1).equals("2025-03-03"), "Row after the rejected row differs.");
+			}
+			
+			// The BINARY path rejects the same forecasts.
+			ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+			buffer.putInt(forecastDate.toEpochDay(9999, Calendar.DECEMBER, 31));
+			
+			Files.write(input, buffer.array());
+			
+			ForecastFileProcessor processor = new ForecastFileProcessor(forecastDate);
+			processor.setInputFormat(ForecastFileFormatEnum.BINARY);
+			processor.setOutputFormat(ForecastFileFormatEnum.BINARY);
+			processor.setDirection(ForecastDirectionEnum.AFTER);
+			
+			ForecastFileReport report = processor.process(input, output);
+			
+			assertTrue(report.getRows() == 0 && report.getRejectedRows() == 1, "Epoch day forecast into 10000 not rejected.");
+			
+			assertTrue(ByteBuffer.wrap(Files.readAllBytes(output)).getInt() == ForecastFileProcessor.REJECTED, "Epoch day forecast into 10000 written.");
+		}
+		finally {
+			Files.deleteIfExists(input);
+			Files.deleteIfExists(output);
+		}
+	}
+}
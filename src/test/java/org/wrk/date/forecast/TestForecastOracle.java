@@ -0,0 +1,332 @@
+package org.wrk.date.forecast;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import org.wrk.date.holiday.ObservedHolidays;
+
+/**
+ * <h3>TestForecastOracle</h3>
+ * <p>
+ * Differential test of the epoch day forecast engine against the Calendar based reference algorithm.<br>
+ * Every day of a wide range of years is forecast by both, for every criteria and direction, in parallel by year.
+ * The first mismatches are reported in date order.
+ * </p>
+ * <h4>System properties</h4>
+ * <li>oracle.firstYear: default 1900
+ * <li>oracle.lastYear: default 2199
+ * <p>The time zone pass changes the JVM default zone, so the class runs isolated from other tests and restores it.</p>
+ * @author Kelly Willard
+ */
+@Isolated("Changes the JVM default time zone.")
+public class TestForecastOracle {
+
+	// Mismatches reported in the failure message.
+	private static final int REPORTED = 20;
+
+	private final int firstYear = Integer.getInteger("oracle.firstYear", 1900);
+
+	private final int lastYear = Integer.getInteger("oracle.lastYear", 2199);
+
+	// Default zone when the test started, restored after every test.
+	private final TimeZone defaultZone = TimeZone.getDefault();
+
+	/**
+	 * constructor
+	 */
+	public TestForecastOracle() {
+	}
+
+	/**
+	 * <h3>ReferenceForecast</h3>
+	 * <p>
+	 * The original forecast algorithm: a Calendar with its timestamp deleted and a walk of one Calendar day at a time.
+	 * A day is a holiday if the observed holidays cloned for its year, or for a neighbouring year, say so.
+	 * NEAREST and the modified directions are defined from the BEFORE and AFTER walks.
+	 * </p>
+	 */
+	private static class ReferenceForecast implements ForecastRules {
+		private final ObservedHolidays observedHolidays;
+
+		// Observed holidays cloned by year.
+		private final Map<Integer, ObservedHolidays> clones = new HashMap<>();
+
+		/**
+		 * <p>constructor</p>
+		 * @param observedHolidays
+		 */
+		ReferenceForecast(ObservedHolidays observedHolidays) {
+			this.observedHolidays = observedHolidays;
+		}
+
+		/**
+		 * @param year
+		 * @return observed holidays cloned for the year.
+		 */
+		private ObservedHolidays clone(int year) {
+			return clones.computeIfAbsent(year, observedHolidays::clone);
+		}
+
+		/**
+		 * @param date
+		 * @return true if the date is a holiday of its own or a neighbouring year else false.
+		 * @throws Exception
+		 */
+		private boolean isHoliday(Calendar date) throws Exception {
+			int year = date.get(Calendar.YEAR);
+
+			return this.clone(year).isHoliday(date) || this.clone(year - 1).isHoliday(date) || this.clone(year + 1).isHoliday(date);
+		}
+
+		/**
+		 * @param date
+		 * @param criteria
+		 * @param direction
+		 * @return new Calendar date adjusted if criteria is met.
+		 */
+		Calendar forecast(Calendar date, ForecastCriteriaEnum criteria, ForecastDirectionEnum direction) {
+			Calendar response;
+
+			switch(direction) {
+			case NEAREST: {
+				Calendar before = this.walk(date, criteria, -1);
+				Calendar after = this.walk(date, criteria, 1);
+				Calendar day = observedHolidays.deleteTimestamp((Calendar) date.clone());
+
+				response = this.days(before, day) <= this.days(day, after) ? before : after;
+				break;
+			}
+			case MODIFIED_FOLLOWING:
+				response = this.walk(date, criteria, 1);
+
+				if(response.get(Calendar.MONTH) != date.get(Calendar.MONTH)) {
+					response = this.walk(date, criteria, -1);
+				}
+				break;
+			case MODIFIED_PRECEDING:
+				response = this.walk(date, criteria, -1);
+
+				if(response.get(Calendar.MONTH) != date.get(Calendar.MONTH)) {
+					response = this.walk(date, criteria, 1);
+				}
+				break;
+			case AFTER:
+				response = this.walk(date, criteria, 1);
+				break;
+			default:
+				response = this.walk(date, criteria, -1);
+				break;
+			}
+
+			return response;
+		}
+
+		/**
+		 * @param from midnight.
+		 * @param to midnight.
+		 * @return whole days between the dates, a daylight saving day is shorter or longer than 24 hours.
+		 */
+		private long days(Calendar from, Calendar to) {
+			return Math.round((to.getTimeInMillis() - from.getTimeInMillis()) / (double) TimeUnit.DAYS.toMillis(1));
+		}
+
+		/**
+		 * @param date
+		 * @param criteria
+		 * @param step
+		 * @return new Calendar on the first day in the walk direction that does not meet the criteria.
+		 */
+		private Calendar walk(Calendar date, ForecastCriteriaEnum criteria, int step) {
+			Calendar now = Calendar.getInstance();
+
+			now.setTime(date.getTime());
+
+			now = observedHolidays.deleteTimestamp(now);
+
+			while(this.isCriteriaMet(now, criteria)) {
+				now.add(Calendar.DAY_OF_MONTH, step);
+			}
+
+			return now;
+		}
+
+		/**
+		 * @param avoidDate
+		 * @param criteria
+		 * @return true if the criteria has been met else false.
+		 */
+		private boolean isCriteriaMet(Calendar avoidDate, ForecastCriteriaEnum criteria) {
+			boolean isMet = false;
+
+			if(!this.criteriaNone(criteria)) {
+				if(this.avoidHoliday(criteria)) {
+					try {
+						isMet = this.isHoliday(avoidDate);
+					} catch (Exception e) {
+						e.printStackTrace();
+					}
+				}
+
+				if(!isMet && this.avoidWeekend(criteria)) {
+					ForecastCriteriaEnum switchValue = this.weekEndCriteria(criteria);
+
+					if(switchValue != null) {
+						switch(switchValue) {
+						case SATURDAY:
+							isMet = this.isSaturday(avoidDate);
+							break;
+						case SUNDAY:
+							isMet = this.isSunday(avoidDate);
+							break;
+						case WEEKEND:
+							isMet = this.isWeekEnd(avoidDate);
+							break;
+						default:
+							break;
+						}
+					}
+				}
+			}
+
+			return isMet;
+		}
+	}
+
+	/**
+	 * @return corporate holidays, observing only some of the federal holidays.
+	 */
+	private ObservedHolidays corpHolidays() {
+		Set<String> unobserved = new HashSet<>();
+		unobserved.add("COLUMBUS_DAY");
+		unobserved.add("JUNETEENTH_DAY");
+		unobserved.add("MARTINLUTHERKINGJR_DAY");
+		unobserved.add("PRESIDENTS_DAY");
+		unobserved.add("VETERANS_DAY");
+
+		ObservedHolidays response = new ObservedHolidays();
+		response.setUnobserved(unobserved);
+		response.init();
+
+		return response;
+	}
+
+	/**
+	 * <p>Compare every day of the year, for every criteria and direction.</p>
+	 * @param forecastDate engine under test.
+	 * @param year
+	 * @param calendarPath true to compare forecastDate(Calendar) else forecastEpochDay.
+	 * @return mismatches in date order, at most REPORTED.
+	 */
+	private List<String> compareYear(ForecastDate forecastDate, int year, boolean calendarPath) {
+		List<String> response = new ArrayList<>();
+
+		ReferenceForecast reference = new ReferenceForecast(forecastDate.getObservedHolidays());
+
+		Calendar date = Calendar.getInstance();
+		date.clear();
+		date.set(year, Calendar.JANUARY, 1, 13, 45, 30);
+
+		while(date.get(Calendar.YEAR) == year && response.size() < REPORTED) {
+			for(ForecastCriteriaEnum criteria : ForecastCriteriaEnum.values()) {
+				for(ForecastDirectionEnum direction : ForecastDirectionEnum.values()) {
+					Calendar expected = reference.forecast(date, criteria, direction);
+
+					String actual = null;
+
+					if(calendarPath) {
+						Calendar result = forecastDate.forecastDate(date, criteria, direction);
+
+						// Compare by date: after a day without a midnight the original walk keeps its 01:00 on later
+						// days, the engine returns the start of the adjusted day.
+						int day = forecastDate.toEpochDay(result);
+
+						if(day != forecastDate.toEpochDay(expected) || result.getTimeInMillis() != forecastDate.toCalendar(day).getTimeInMillis()) {
+							actual = String.format(Locale.ROOT, "%tF %<tT", result);
+						}
+					}
+					else {
+						int result = forecastDate.forecastEpochDay(forecastDate.toEpochDay(date), criteria, direction);
+
+						if(result != forecastDate.toEpochDay(expected)) {
+							actual = String.format(Locale.ROOT, "%tF", forecastDate.toCalendar(result));
+						}
+					}
+
+					if(actual != null && response.size() < REPORTED) {
+						response.add(String.format(Locale.ROOT, "%tF %s %s expected %tF %<tT actual %s", date, criteria, direction, expected, actual));
+					}
+				}
+			}
+
+			date.add(Calendar.DAY_OF_MONTH, 1);
+		}
+
+		return response;
+	}
+
+	/**
+	 * <p>Compare the years in parallel and fail with the first mismatches.</p>
+	 * @param forecastDate
+	 * @param first
+	 * @param last
+	 * @param calendarPath
+	 */
+	private void compareYears(ForecastDate forecastDate, int first, int last, boolean calendarPath) {
+		List<String> mismatches = IntStream.rangeClosed(first, last).parallel()
+				.mapToObj(year -> this.compareYear(forecastDate, year, calendarPath))
+				.flatMap(List::stream)
+				.collect(Collectors.toList());
+
+		assertTrue(mismatches.isEmpty(), "Forecast differs from the reference, first mismatches:\n"
+				+ String.join("\n", mismatches.subList(0, Math.min(REPORTED, mismatches.size()))));
+	}
+
+	@Test
+	public void testEpochDayFederal() {
+		this.compareYears(new ForecastDate(), firstYear, lastYear, false);
+	}
+
+	@Test
+	public void testEpochDayCorp() {
+		this.compareYears(new ForecastDate(this.corpHolidays()), firstYear, lastYear, false);
+	}
+
+	/**
+	 * <p>Restore the JVM default zone a test may have changed.</p>
+	 */
+	@AfterEach
+	public void restoreTimeZone() {
+		TimeZone.setDefault(defaultZone);
+	}
+
+	@Test
+	public void testCalendarTimeZones() {
+		int year = Calendar.getInstance().get(Calendar.YEAR);
+
+		// Zones with daylight saving time, including transitions at midnight.
+		String[] zones = { "UTC", "America/New_York", "America/Santiago", "America/Havana", "Asia/Beirut", "Australia/Lord_Howe" };
+
+		// Calendars and the engine read the default zone.
+		for(String zone : zones) {
+			TimeZone.setDefault(TimeZone.getTimeZone(zone));
+
+			// forecastDate only adjusts future dates.
+			this.compareYears(new ForecastDate(), year + 1, year + 10, true);
+		}
+	}
+}
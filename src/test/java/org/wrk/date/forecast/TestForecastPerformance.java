@@ -0,0 +1,317 @@
+package org.wrk.date.forecast;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.function.IntUnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * <h3>TestForecastPerformance</h3>
+ * <p>
+ * Performance regression harness, tagged performance and excluded from the default build.<br>
+ * Each scenario runs a short deterministic workload on one thread and measures operations per second and bytes
+ * allocated per operation.  The results are compared with performance-baseline.json and the test fails when
+ * allocation grows beyond the configured threshold.
+ * </p>
+ * <p>
+ * Allocation is deterministic and gated by default.  Throughput of a short in-test run varies with the JIT from one
+ * JVM to the next, by half on the same machine, so it is recorded for comparison and only gated when
+ * performance.threshold is set.  It is then compared relative to a calibration workload, plain arithmetic outside the
+ * engine, measured in the same JVM next to each scenario and recorded with the baseline, so a slower machine does not
+ * fail the gate.  The JMH benchmarks remain the measure of throughput.
+ * </p>
+ * <h4>System properties</h4>
+ * <li>performance.baseline: baseline file, default src/test/resources/performance-baseline.json
+ * <li>performance.results: results file, default target/performance-results.json
+ * <li>performance.threshold: allowed throughput drop relative to the calibration, default 0 for no throughput gate
+ * <li>performance.allocationThreshold: allowed allocation growth, default 0.10
+ * <li>performance.record: true to write the results as the new baseline.
+ * <h4>Example:</h4>
+ * <pre>
+ * mvn -Pperformance test
+ * mvn -Pperformance test -Dperformance.record=true
+ * mvn -Pperformance test -Dperformance.threshold=0.50
+ * </pre>
+ * @author Kelly Willard
+ */
+@Tag("performance")
+public class TestForecastPerformance {
+
+	private static final int INPUTS = 1024;
+
+	private static final int ROUNDS = 5;
+
+	// Allocation slack in bytes per operation so tiny baselines do not fail on noise.
+	private static final double ALLOCATION_SLACK = 8.0;
+
+	// The epoch day forecasts allocate nothing once the holiday tables are computed, allowing for stray samples.
+	private static final double EPOCH_DAY_ALLOCATION = 1.0;
+
+	private static final Map<String, double[]> RESULTS = new TreeMap<>();
+
+	// Scenario holding the calibration workload.
+	private static final String CALIBRATION = "calibration";
+
+	// Inputs mixed by each calibration operation.
+	private static final int CALIBRATION_MIXES = 256;
+
+	private final ForecastDate forecastDate = new ForecastDate();
+
+	private final Calendar[] dates = new Calendar[INPUTS];
+
+	private final int[] epochDays = new int[INPUTS];
+
+	private final double threshold = Double.parseDouble(System.getProperty("performance.threshold", "0"));
+
+	private final double allocationThreshold = Double.parseDouble(System.getProperty("performance.allocationThreshold", "0.10"));
+
+	/**
+	 * constructor
+	 */
+	public TestForecastPerformance() {
+		SplittableRandom random = new SplittableRandom(35L);
+
+		// Fixed offsets from next year so every run forecasts the same kind of dates.
+		int first = forecastDate.toEpochDay(Calendar.getInstance().get(Calendar.YEAR) + 1, Calendar.JANUARY, 1);
+
+		for(int index=0; index < INPUTS; index++) {
+			epochDays[index] = first + random.nextInt(365);
+			dates[index] = forecastDate.toCalendar(epochDays[index]);
+		}
+
+		forecastDate.precompute(Calendar.getInstance().get(Calendar.YEAR), Calendar.getInstance().get(Calendar.YEAR) + forecastDate.getDefaultPeriod() + 2);
+	}
+
+	/**
+	 * <p>Run the operation for warm-up then for ROUNDS measured rounds, keeping the best round.</p>
+	 * @param name scenario name.
+	 * @param operations per round.
+	 * @param operation receives the operation number and returns a value that is consumed.
+	 * @return { operations per second, bytes allocated per operation }
+	 */
+	private double[] measure(String name, int operations, IntUnaryOperator operation) {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+		long sink = 0;
+
+		// Warm-up so the measured rounds run compiled code.
+		for(int index=0; index < operations * 2; index++) {
+			sink += operation.applyAsInt(index);
+		}
+
+		double opsPerSecond = 0;
+		double bytesPerOp = Double.MAX_VALUE;
+
+		for(int round=0; round < ROUNDS; round++) {
+			long bytes = threads.getCurrentThreadAllocatedBytes();
+			long start = System.nanoTime();
+
+			for(int index=0; index < operations; index++) {
+				sink += operation.applyAsInt(index);
+			}
+
+			long elapsed = Math.max(1, System.nanoTime() - start);
+			bytes = threads.getCurrentThreadAllocatedBytes() - bytes;
+
+			opsPerSecond = Math.max(opsPerSecond, operations * 1_000_000_000.0 / elapsed);
+			bytesPerOp = Math.min(bytesPerOp, (double) bytes / operations);
+		}
+
+		assertTrue(sink != Long.MIN_VALUE, "Unexpected sink.");
+
+		double[] response = { opsPerSecond, bytesPerOp };
+
+		synchronized(RESULTS) {
+			RESULTS.put(name, response);
+		}
+
+		return response;
+	}
+
+	/**
+	 * <p>Measure the calibration workload, mixing the inputs without calling the engine.</p>
+	 * <p>
+	 * It runs next to each scenario so both see the same load on the machine.  Each operation mixes a run of inputs,
+	 * a dependent chain, so the work dwarfs the call into the operation however the JIT compiled it.
+	 * </p>
+	 * @return { operations per second, bytes allocated per operation }
+	 */
+	private double[] calibrate() {
+		return this.measure(CALIBRATION, 50_000, index -> {
+			int response = index;
+
+			for(int position=0; position < CALIBRATION_MIXES; position++) {
+				response = (response ^ epochDays[(index + position) & (INPUTS - 1)]) * 0x9E3779B9;
+				response ^= response >>> 16;
+			}
+
+			return response;
+		});
+	}
+
+	/**
+	 * <p>Compare the measurement with the baseline, scenarios without a baseline always pass.</p>
+	 * <p>Throughput is compared relative to the calibration, only when a threshold is set and the baseline has one.</p>
+	 * @param name scenario name.
+	 * @param measured { operations per second, bytes allocated per operation }
+	 * @throws IOException
+	 */
+	private void compare(String name, double[] measured) throws IOException {
+		// Always calibrate, so a recorded baseline carries the calibration.
+		double[] calibration = this.calibrate();
+
+		Map<String, double[]> baselines = readBaseline();
+
+		double[] baseline = baselines.get(name);
+
+		if(baseline != null) {
+			double[] baselineCalibration = baselines.get(CALIBRATION);
+
+			if(0 < threshold && baselineCalibration != null) {
+				double scale = calibration[0] / baselineCalibration[0];
+				double minimumOps = baseline[0] * scale * (1.0 - threshold);
+
+				assertTrue(minimumOps <= measured[0], String.format(Locale.ROOT, "%s throughput regressed: %.0f ops/s, baseline %.0f ops/s scaled by calibration %.2f, threshold %.0f%%.", name, measured[0], baseline[0], scale, threshold * 100));
+			}
+
+			double maximumBytes = baseline[1] * (1.0 + allocationThreshold) + ALLOCATION_SLACK;
+
+			assertTrue(measured[1] <= maximumBytes, String.format(Locale.ROOT, "%s allocation regressed: %.1f bytes/op, baseline %.1f bytes/op, threshold %.0f%%.", name, measured[1], baseline[1], allocationThreshold * 100));
+		}
+	}
+
+	@Test
+	public void testForecastDate() throws IOException {
+		double[] measured = this.measure("forecastDate", 200_000, index -> forecastDate.forecastDate(dates[index & (INPUTS - 1)], ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.BEFORE).get(Calendar.DAY_OF_MONTH));
+
+		this.compare("forecastDate", measured);
+	}
+
+	@Test
+	public void testForecastDateOverPeriod() throws IOException {
+		double[] measured = this.measure("forecastDateOverPeriod", 20_000, index -> forecastDate.forecastDateOverPeriod(dates[index & (INPUTS - 1)], ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.BEFORE).size());
+
+		this.compare("forecastDateOverPeriod", measured);
+	}
+
+	@Test
+	public void testForecastEpochDay() throws IOException {
+		double[] measured = this.measure("forecastEpochDay", 1_000_000, index -> forecastDate.forecastEpochDay(epochDays[index & (INPUTS - 1)], ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.BEFORE));
+
+		assertTrue(measured[1] < EPOCH_DAY_ALLOCATION, String.format(Locale.ROOT, "forecastEpochDay allocates %.1f bytes/op.", measured[1]));
+
+		this.compare("forecastEpochDay", measured);
+	}
+
+	@Test
+	public void testForecastEpochDayTraced() throws IOException {
+		ForecastTrace trace = new ForecastTrace();
+
+		double[] measured = this.measure("forecastEpochDayTraced", 1_000_000, index -> forecastDate.forecastEpochDay(epochDays[index & (INPUTS - 1)], ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.BEFORE, trace));
+
+		assertTrue(measured[1] < EPOCH_DAY_ALLOCATION, String.format(Locale.ROOT, "forecastEpochDayTraced allocates %.1f bytes/op.", measured[1]));
+
+		this.compare("forecastEpochDayTraced", measured);
+	}
+
+	/**
+	 * <p>Write the results, and the baseline when recording.</p>
+	 * @throws IOException
+	 */
+	@AfterAll
+	public static void writeResults() throws IOException {
+
+		String json = toJson(RESULTS);
+
+		Path results = Paths.get(System.getProperty("performance.results", "target/performance-results.json"));
+
+		if(results.getParent() != null) {
+			Files.createDirectories(results.getParent());
+		}
+
+		Files.write(results, json.getBytes(StandardCharsets.UTF_8));
+
+		// Merge into the baseline so scenarios not run keep their values.
+		if(Boolean.getBoolean("performance.record")) {
+			Map<String, double[]> baseline = new TreeMap<>(readBaseline());
+			baseline.putAll(RESULTS);
+
+			Files.write(baselinePath(), toJson(baseline).getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * @return the baseline file.
+	 */
+	private static Path baselinePath() {
+		return Paths.get(System.getProperty("performance.baseline", "src/test/resources/performance-baseline.json"));
+	}
+
+	/**
+	 * <p>Read the baseline, a flat object of scenarios each holding opsPerSecond and bytesPerOp.</p>
+	 * @return { operations per second, bytes allocated per operation } by scenario, empty if there is no baseline.
+	 * @throws IOException
+	 */
+	private static Map<String, double[]> readBaseline() throws IOException {
+		Map<String, double[]> response = new TreeMap<>();
+
+		Path path = baselinePath();
+
+		if(Files.exists(path)) {
+			String json = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+
+			Matcher scenario = Pattern.compile("\"(\\w+)\"\\s*:\\s*\\{([^}]*)\\}").matcher(json);
+
+			while(scenario.find()) {
+				double[] values = { 0, Double.MAX_VALUE };
+
+				Matcher value = Pattern.compile("\"(\\w+)\"\\s*:\\s*([-+0-9.eE]+)").matcher(scenario.group(2));
+
+				while(value.find()) {
+					if("opsPerSecond".equals(value.group(1))) {
+						values[0] = Double.parseDouble(value.group(2));
+					}
+					else if("bytesPerOp".equals(value.group(1))) {
+						values[1] = Double.parseDouble(value.group(2));
+					}
+				}
+
+				response.put(scenario.group(1), values);
+			}
+		}
+
+		return response;
+	}
+
+	/**
+	 * @param results
+	 * @return results as a JSON object.
+	 */
+	private static String toJson(Map<String, double[]> results) {
+		List<String> scenarios = new ArrayList<>();
+
+		for(Map.Entry<String, double[]> entry : results.entrySet()) {
+			scenarios.add(String.format(Locale.ROOT, "  \"%s\": { \"opsPerSecond\": %.0f, \"bytesPerOp\": %.1f }", entry.getKey(), entry.getValue()[0], entry.getValue()[1]));
+		}
+
+		return "{\n" + String.join(",\n", scenarios) + "\n}\n";
+	}
+}
@@ -0,0 +1,139 @@
+package org.wrk.date.forecast;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <h3>TestForecastSortedBatch</h3>
+ * <p>The sorted sweep is checked against ForecastDate.forecastEpochDay for every criteria and direction.</p>
+ *
+ * @author Kelly Willard
+ */
+@ExtendWith(value = { SpringExtension.class })
+@ContextConfiguration(locations= {"/test-holiday-application-context.xml"})
+public class TestForecastSortedBatch {
+
+	@Autowired
+	@Getter @Setter private ForecastDate forecastCorpDate;
+
+	/**
+	 * constructor
+	 */
+	public TestForecastSortedBatch() {
+	}
+
+	/**
+	 * @param forecastDate
+	 * @param firstYear
+	 * @param lastYear
+	 * @return every day of the years, each repeated for a random number of entries as in a ledger.
+	 */
+	private int[] ledger(ForecastDate forecastDate, int firstYear, int lastYear) {
+		SplittableRandom random = new SplittableRandom(39L);
+
+		int first = forecastDate.toEpochDay(firstYear, Calendar.JANUARY, 1);
+		int last = forecastDate.toEpochDay(lastYear, Calendar.DECEMBER, 31);
+
+		int[] response = new int[(last - first + 1) * 3];
+		int size = 0;
+
+		for(int epochDay=first; epochDay <= last; epochDay++) {
+			for(int entry=random.nextInt(4); 0 < entry; entry--) {
+				response[size++] = epochDay;
+			}
+		}
+
+		return Arrays.copyOf(response, size);
+	}
+
+	/**
+	 * @param forecastDate
+	 * @param epochDays
+	 */
+	private void assertSweep(ForecastDate forecastDate, int[] epochDays) {
+		int[] results = new int[epochDays.length];
+
+		for(ForecastCriteriaEnum criteria : ForecastCriteriaEnum.values()) {
+			for(ForecastDirectionEnum direction : ForecastDirectionEnum.values()) {
+				forecastDate.forecastSortedEpochDays(epochDays, 0, epochDays.length, results, criteria, direction);
+
+				int[] detected = forecastDate.forecastEpochDays(epochDays, criteria, direction);
+
+				for(int index=0; index < epochDays.length; index++) {
+					int expected = forecastDate.forecastEpochDay(epochDays[index], criteria, direction);
+
+					assertTrue(results[index] == expected, forecastDate.toCalendar(epochDays[index]).getTime() + " " + criteria + " " + direction + " sweep differs.");
+
+					assertTrue(detected[index] == expected, forecastDate.toCalendar(epochDays[index]).getTime() + " " + criteria + " " + direction + " batch differs.");
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSortedMatchesForecast() {
+		ForecastDate forecastDate = new ForecastDate();
+
+		this.assertSweep(forecastDate, this.ledger(forecastDate, 1995, 2035));
+	}
+
+	@Test
+	public void testSortedMatchesForecastCorp() {
+		int iyear = Calendar.getInstance().get(Calendar.YEAR);
+
+		this.assertSweep(this.getForecastCorpDate(), this.ledger(this.getForecastCorpDate(), iyear - 5, iyear + 5));
+	}
+
+	@Test
+	public void testUnsortedFallsBack() {
+		ForecastDate forecastDate = new ForecastDate();
+
+		int[] epochDays = this.ledger(forecastDate, 2020, 2022);
+
+		// Reverse the batch so it is no longer ascending.
+		for(int index=0; index < epochDays.length / 2; index++) {
+			int swap = epochDays[index];
+			epochDays[index] = epochDays[epochDays.length - 1 - index];
+			epochDays[epochDays.length - 1 - index] = swap;
+		}
+
+		this.assertSweep(forecastDate, epochDays);
+	}
+
+	@Test
+	public void testSortedInPlace() {
+		ForecastDate forecastDate = new ForecastDate();
+
+		int[] epochDays = this.ledger(forecastDate, 2024, 2026);
+		int[] expected = new int[epochDays.length];
+
+		for(int index=0; index < epochDays.length; index++) {
+			expected[index] = forecastDate.forecastEpochDay(epochDays[index], ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.NEAREST);
+		}
+
+		// Adjust a range in place, leaving the rest of the batch as it was.
+		int offset = 7;
+		int length = epochDays.length - 14;
+		int[] original = epochDays.clone();
+
+		forecastDate.forecastSortedEpochDays(epochDays, offset, length, epochDays, ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.NEAREST);
+
+		for(int index=0; index < epochDays.length; index++) {
+			boolean inRange = offset <= index && index < offset + length;
+
+			assertTrue(epochDays[index] == (inRange ? expected[index] : original[index]), "In place sweep differs at " + index + ".");
+		}
+	}
+}
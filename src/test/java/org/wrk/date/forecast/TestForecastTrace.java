@@ -0,0 +1,156 @@
+package org.wrk.date.forecast;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Calendar;
+
+import org.junit.jupiter.api.Test;
+import org.wrk.date.holiday.HolidayEnum;
+
+/**
+ * <h3>TestForecastTrace</h3>
+ *
+ * @author Kelly Willard
+ */
+public class TestForecastTrace {
+
+	private final ForecastDate forecastDate = new ForecastDate();
+
+	private final int iyear = Calendar.getInstance().get(Calendar.YEAR) + 1;
+
+	/**
+	 * constructor
+	 */
+	public TestForecastTrace() {
+	}
+
+	@Test
+	public void testTraceMatchesForecast() {
+		ForecastTrace trace = new ForecastTrace();
+
+		int first = forecastDate.toEpochDay(iyear, Calendar.JANUARY, 1);
+
+		for(int epochDay=first; epochDay < first + 366; epochDay++) {
+			for(ForecastCriteriaEnum criteria : ForecastCriteriaEnum.values()) {
+				for(ForecastDirectionEnum direction : ForecastDirectionEnum.values()) {
+					int expected = forecastDate.forecastEpochDay(epochDay, criteria, direction);
+
+					assertTrue(forecastDate.forecastEpochDay(epochDay, criteria, direction, trace) == expected, "Traced forecast differs.");
+
+					assertTrue(trace.getOriginalEpochDay() == epochDay && trace.getAdjustedEpochDay() == expected, "Trace dates differ.");
+
+					assertTrue(trace.getSkippedCount() == Math.abs(expected - epochDay), "Skipped days differ from the walk.");
+
+					for(int index=0; index < trace.size(); index++) {
+						ForecastCriteriaEnum reason = trace.getReason(index);
+
+						assertTrue(reason == ForecastCriteriaEnum.HOLIDAY || reason == ForecastCriteriaEnum.SATURDAY || reason == ForecastCriteriaEnum.SUNDAY, "Unexpected reason " + reason + ".");
+
+						assertTrue(!forecastDate.isBusinessDay(trace.getSkippedDay(index), criteria), "Skipped a business day.");
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testTraceHolidayName() {
+		ForecastTrace trace = new ForecastTrace();
+
+		Calendar christmas = forecastDate.getObservedHolidays().clone(iyear).getChristmasDay();
+
+		forecastDate.forecastDate(christmas, ForecastCriteriaEnum.HOLIDAY, ForecastDirectionEnum.BEFORE, trace);
+
+		assertTrue(trace.isAdjusted(), "Christmas was not adjusted.");
+
+		assertTrue(trace.getSkippedDay(0) == forecastDate.toEpochDay(christmas), "Christmas was not skipped first.");
+
+		assertTrue(trace.getReason(0) == ForecastCriteriaEnum.HOLIDAY, "Christmas was not skipped for a holiday.");
+
+		assertTrue(trace.getHolidayName(0) == HolidayEnum.CHRISTMAS_DAY, "Holiday is not Christmas.");
+
+		assertTrue(trace.toString().contains("HOLIDAY CHRISTMAS_DAY"), "Description does not name Christmas.");
+	}
+
+	@Test
+	public void testTraceHolidayObservedOutsideItsDate() {
+		ForecastTrace trace = new ForecastTrace();
+
+		// January 1, 2028 is a Saturday, New Year's Day is observed on Friday, December 31, 2027.
+		int newYearsEve = forecastDate.toEpochDay(2027, Calendar.DECEMBER, 31);
+
+		forecastDate.forecastEpochDay(newYearsEve, ForecastCriteriaEnum.HOLIDAY, ForecastDirectionEnum.BEFORE, trace);
+
+		assertTrue(trace.getSkippedDay(0) == newYearsEve && trace.getHolidayName(0) == HolidayEnum.NEWYEARS_DAY, "December 31 is not New Year's Day.");
+
+		// December 25, 2027 is a Saturday, Christmas is observed on Friday, December 24, not on the neighbouring days.
+		int christmasEve = forecastDate.toEpochDay(2027, Calendar.DECEMBER, 24);
+
+		forecastDate.forecastEpochDay(christmasEve, ForecastCriteriaEnum.HOLIDAY, ForecastDirectionEnum.AFTER, trace);
+
+		assertTrue(trace.getSkippedDay(0) == christmasEve && trace.getHolidayName(0) == HolidayEnum.CHRISTMAS_DAY, "December 24 is not Christmas.");
+
+		assertTrue(forecastDate.getHolidayYear(2027).getHolidayName(christmasEve) == null, "A span of years named a day.");
+	}
+
+	@Test
+	public void testTraceNamesEveryHoliday() {
+		ForecastTrace trace = new ForecastTrace();
+
+		// Every skipped holiday of the decade is named.
+		int first = forecastDate.toEpochDay(iyear, Calendar.JANUARY, 1);
+		int last = forecastDate.toEpochDay(iyear + 9, Calendar.DECEMBER, 31);
+
+		for(int epochDay=first; epochDay <= last; epochDay++) {
+			if(!forecastDate.isBusinessDay(epochDay, ForecastCriteriaEnum.HOLIDAY)) {
+				forecastDate.forecastEpochDay(epochDay, ForecastCriteriaEnum.HOLIDAY, ForecastDirectionEnum.AFTER, trace);
+
+				assertTrue(trace.getHolidayName(0) != null, forecastDate.toCalendar(epochDay).getTime() + " has no holiday name.");
+			}
+		}
+	}
+
+	@Test
+	public void testTraceWeekEnd() {
+		ForecastTrace trace = new ForecastTrace();
+
+		// First Sunday of March, no federal holiday is near.
+		Calendar sunday = forecastDate.toCalendar(forecastDate.toEpochDay(iyear, Calendar.MARCH, 1));
+
+		while(sunday.get(Calendar.DAY_OF_WEEK) != Calendar.SUNDAY) {
+			sunday.add(Calendar.DAY_OF_MONTH, 1);
+		}
+
+		forecastDate.forecastDate(sunday, ForecastCriteriaEnum.WEEKEND, ForecastDirectionEnum.BEFORE, trace);
+
+		assertTrue(trace.getSkippedCount() == 2, "Weekend was not skipped.");
+
+		assertTrue(trace.getReason(0) == ForecastCriteriaEnum.SUNDAY && trace.getReason(1) == ForecastCriteriaEnum.SATURDAY, "Weekend reasons differ.");
+
+		assertTrue(trace.getHolidayName(0) == null, "Weekend day has a holiday name.");
+	}
+
+	@Test
+	public void testTraceReusedAndTruncated() {
+		ForecastTrace trace = new ForecastTrace(1);
+
+		Calendar sunday = forecastDate.toCalendar(forecastDate.toEpochDay(iyear, Calendar.MARCH, 1));
+
+		while(sunday.get(Calendar.DAY_OF_WEEK) != Calendar.SUNDAY) {
+			sunday.add(Calendar.DAY_OF_MONTH, 1);
+		}
+
+		forecastDate.forecastDate(sunday, ForecastCriteriaEnum.WEEKEND, ForecastDirectionEnum.BEFORE, trace);
+
+		assertTrue(trace.isTruncated() && trace.size() == 1 && trace.getSkippedCount() == 2, "Trace was not truncated.");
+
+		assertTrue(trace.toString().endsWith("... 1 more]"), "Description does not show the truncation.");
+
+		// Reuse the trace for a business day.
+		sunday.add(Calendar.DAY_OF_MONTH, 1);
+
+		forecastDate.forecastDate(sunday, ForecastCriteriaEnum.WEEKEND, ForecastDirectionEnum.BEFORE, trace);
+
+		assertTrue(!trace.isAdjusted() && trace.size() == 0 && !trace.isTruncated(), "Trace was not reset.");
+	}
+}
@@ -0,0 +1,78 @@
+package org.wrk.date.forecast;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Calendar;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <h3>TestForecastWarmUp</h3>
+ * 
+ * @author Kelly Willard
+ */
+@ExtendWith(value = { SpringExtension.class })
+@ContextConfiguration(locations= {"/test-holiday-application-context.xml"})
+public class TestForecastWarmUp {
+	
+	@Autowired
+	@Getter @Setter private ForecastWarmUpLifecycle forecastCorpWarmUp;
+	
+	/**
+	 * constructor
+	 */
+	public TestForecastWarmUp() {
+	}
+	
+	@Test
+	public void testWarmUpAtStartup() {
+		assertTrue(this.getForecastCorpWarmUp().isRunning(), "Warm-up did not run at startup.");
+		
+		ForecastWarmUpReport report = this.getForecastCorpWarmUp().getReport();
+		
+		assertTrue(report.getYearsPrecomputed() == report.getLastYear() - report.getFirstYear() + 1, "Years not precomputed.");
+		
+		assertTrue(report.getWorkloadOperations() == 1000, "Workload not driven.");
+	}
+	
+	@Test
+	public void testWarmUpPlainJava() {
+		int iyear = Calendar.getInstance().get(Calendar.YEAR);
+		
+		ForecastWarmUp warmUp = new ForecastWarmUp(new ForecastDate());
+		
+		warmUp.setFirstYear(iyear);
+		
+		warmUp.setLastYear(iyear + 10);
+		
+		warmUp.setWorkloadOperations(0);
+		
+		ForecastWarmUpReport report = warmUp.warmUp();
+		
+		assertTrue(report.getYearsPrecomputed() == 11, "Years not precomputed.");
+		
+		assertTrue(report.getWorkloadOperations() == 0, "Workload driven.");
+	}
+	
+	@Test
+	public void testWarmUpPrecomputedHolidays() {
+		int iyear = Calendar.getInstance().get(Calendar.YEAR) + 1;
+		
+		ForecastDate fd = new ForecastDate();
+		
+		fd.precompute(iyear, iyear);
+		
+		HolidayYear holidays = fd.getHolidayYear(iyear);
+		
+		assertTrue(holidays.isHoliday(fd.getObservedHolidays().clone(iyear).getChristmasDay()), "Christmas is not a holiday.");
+		
+		assertTrue(0 < holidays.getHolidayCount(), "No holidays precomputed.");
+	}
+}
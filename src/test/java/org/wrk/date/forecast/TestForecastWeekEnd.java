@@ -0,0 +1,156 @@
+package org.wrk.date.forecast;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Calendar;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * <h3>TestForecastWeekEnd</h3>
+ * <p>Forecasts with weekend days other than Saturday and Sunday.</p>
+ *
+ * @author Kelly Willard
+ */
+public class TestForecastWeekEnd {
+
+	private final int iyear = Calendar.getInstance().get(Calendar.YEAR) + 1;
+
+	/**
+	 * constructor
+	 */
+	public TestForecastWeekEnd() {
+	}
+
+	/**
+	 * @return ForecastDate with a Friday and Saturday weekend.
+	 */
+	private ForecastDate fridaySaturday() {
+		ForecastDate response = new ForecastDate();
+		response.setWeekEndDays(WeekDayMask.FRIDAY_SATURDAY);
+
+		return response;
+	}
+
+	@Test
+	public void testDefaultWeekEnd() {
+		ForecastDate forecastDate = new ForecastDate();
+
+		assertTrue(forecastDate.getWeekEndDays() == WeekDayMask.SATURDAY_SUNDAY, "Default weekend is not Saturday and Sunday.");
+
+		int first = forecastDate.toEpochDay(iyear, Calendar.JANUARY, 1);
+
+		for(int epochDay=first; epochDay < first + 14; epochDay++) {
+			int dayOfWeek = forecastDate.toCalendar(epochDay).get(Calendar.DAY_OF_WEEK);
+
+			assertTrue(forecastDate.isWeekEnd(epochDay) == (dayOfWeek == Calendar.SATURDAY || dayOfWeek == Calendar.SUNDAY), "Default weekend differs.");
+		}
+	}
+
+	@Test
+	public void testFridaySaturday() {
+		ForecastDate forecastDate = this.fridaySaturday();
+
+		int first = forecastDate.toEpochDay(iyear, Calendar.JANUARY, 1);
+
+		for(int epochDay=first; epochDay < first + 366; epochDay++) {
+			int dayOfWeek = forecastDate.toCalendar(epochDay).get(Calendar.DAY_OF_WEEK);
+
+			boolean weekEnd = dayOfWeek == Calendar.FRIDAY || dayOfWeek == Calendar.SATURDAY;
+
+			assertTrue(forecastDate.isWeekEnd(epochDay) == weekEnd, "Weekend differs.");
+
+			assertTrue(forecastDate.isBusinessDay(epochDay, ForecastCriteriaEnum.WEEKEND) == !weekEnd, "WEEKEND business day differs.");
+
+			// The presets keep avoiding Saturday or Sunday alone.
+			assertTrue(forecastDate.isBusinessDay(epochDay, ForecastCriteriaEnum.SATURDAY) == (dayOfWeek != Calendar.SATURDAY), "SATURDAY business day differs.");
+
+			assertTrue(forecastDate.isBusinessDay(epochDay, ForecastCriteriaEnum.SUNDAY) == (dayOfWeek != Calendar.SUNDAY), "SUNDAY business day differs.");
+
+			for(ForecastDirectionEnum direction : ForecastDirectionEnum.values()) {
+				int forecast = forecastDate.forecastEpochDay(epochDay, ForecastCriteriaEnum.ALL_CRITERIA, direction);
+
+				assertTrue(forecastDate.isBusinessDay(forecast, ForecastCriteriaEnum.ALL_CRITERIA), direction + " landed on a weekend day or holiday.");
+			}
+		}
+	}
+
+	@Test
+	public void testFridayForecastBefore() {
+		ForecastDate forecastDate = this.fridaySaturday();
+
+		// First Saturday of March, no federal holiday is near.
+		int saturday = forecastDate.toEpochDay(iyear, Calendar.MARCH, 1);
+
+		while(!forecastDate.isSaturday(saturday)) {
+			saturday++;
+		}
+
+		assertTrue(forecastDate.forecastEpochDay(saturday, ForecastCriteriaEnum.WEEKEND, ForecastDirectionEnum.BEFORE) == saturday - 2, "Saturday did not move to Thursday.");
+
+		assertTrue(forecastDate.forecastEpochDay(saturday, ForecastCriteriaEnum.WEEKEND, ForecastDirectionEnum.AFTER) == saturday + 1, "Saturday did not move to Sunday.");
+
+		ForecastTrace trace = new ForecastTrace();
+
+		forecastDate.forecastEpochDay(saturday, ForecastCriteriaEnum.WEEKEND, ForecastDirectionEnum.BEFORE, trace);
+
+		assertTrue(trace.getReason(0) == ForecastCriteriaEnum.SATURDAY && trace.getReason(1) == ForecastCriteriaEnum.WEEKEND, "Weekend reasons differ.");
+	}
+
+	@Test
+	public void testIndexesUseWeekEnd() {
+		ForecastDate forecastDate = this.fridaySaturday();
+
+		BusinessDayIndex index = forecastDate.getBusinessDayIndex(ForecastCriteriaEnum.ALL_CRITERIA, iyear, iyear + 1);
+
+		SharedBusinessDayStore store = new SharedBusinessDayStore(iyear, iyear + 1, 1);
+
+		int handle = store.register(forecastDate, ForecastCriteriaEnum.ALL_CRITERIA);
+
+		int first = forecastDate.toEpochDay(iyear, Calendar.JANUARY, 1);
+		int last = forecastDate.toEpochDay(iyear + 1, Calendar.DECEMBER, 31);
+
+		for(int epochDay=first; epochDay <= last; epochDay++) {
+			boolean businessDay = forecastDate.isBusinessDay(epochDay, ForecastCriteriaEnum.ALL_CRITERIA);
+
+			assertTrue(index.isBusinessDay(epochDay) == businessDay, "Index business day differs.");
+
+			assertTrue(store.isBusinessDay(handle, epochDay) == businessDay, "Store business day differs.");
+		}
+
+		// The sorted sweep avoids the same days.
+		int[] epochDays = new int[last - first + 1];
+
+		for(int position=0; position < epochDays.length; position++) {
+			epochDays[position] = first + position;
+		}
+
+		int[] results = forecastDate.forecastEpochDays(epochDays, ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.NEAREST);
+
+		for(int position=0; position < epochDays.length; position++) {
+			assertTrue(results[position] == forecastDate.forecastEpochDay(epochDays[position], ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.NEAREST), "Sweep differs.");
+		}
+	}
+
+	@Test
+	public void testWeekEndDaysInvalid() {
+		ForecastDate forecastDate = new ForecastDate();
+
+		assertThrows(IllegalArgumentException.class, () -> forecastDate.setWeekEndDays(0x80), "Eighth day accepted.");
+
+		assertThrows(IllegalArgumentException.class, () -> WeekDayMask.of(0), "Day of the week 0 accepted.");
+
+		// Every day a weekend day would leave the forecasts no business day to land on.
+		assertThrows(IllegalArgumentException.class, () -> forecastDate.setWeekEndDays(WeekDayMask.ALL), "All seven days accepted.");
+
+		assertThrows(IllegalArgumentException.class, () -> forecastDate.setWeekEndDays(WeekDayMask.of(Calendar.SUNDAY, Calendar.MONDAY, Calendar.TUESDAY, Calendar.WEDNESDAY, Calendar.THURSDAY, Calendar.FRIDAY, Calendar.SATURDAY)), "Every day of the week accepted.");
+
+		assertTrue(forecastDate.getWeekEndDays() == WeekDayMask.SATURDAY_SUNDAY, "Invalid mask changed the weekend.");
+
+		// No weekend at all, only holidays are avoided.
+		forecastDate.setWeekEndDays(WeekDayMask.NONE);
+
+		assertTrue(forecastDate.isBusinessDay(forecastDate.toEpochDay(iyear, Calendar.MARCH, 1), ForecastCriteriaEnum.WEEKEND), "Weekend day avoided without weekend days.");
+	}
+}
@@ -0,0 +1,119 @@
+package org.wrk.date.forecast;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Calendar;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * <h3>TestForecastWithoutSpring</h3>
+ * <p>
+ * The core engine is loaded by a class loader that hides Spring, as on a classpath without the optional Spring
+ * dependencies, and its forecasts are compared with those of the engine loaded normally.
+ * </p>
+ * @author Kelly Willard
+ */
+public class TestForecastWithoutSpring {
+
+	/**
+	 * <p>Loads the org.wrk classes itself, so they resolve their references here, and finds no Spring class.</p>
+	 */
+	private static final class WithoutSpringClassLoader extends ClassLoader {
+
+		/**
+		 * <p>constructor w/param</p>
+		 * @param parent
+		 */
+		WithoutSpringClassLoader(ClassLoader parent) {
+			super(parent);
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			synchronized(this.getClassLoadingLock(name)) {
+				Class<?> response = this.findLoadedClass(name);
+
+				if(response == null) {
+					if(name.startsWith("org.springframework.")) {
+						throw new ClassNotFoundException(name);
+					}
+
+					response = name.startsWith("org.wrk.") ? this.define(name) : super.loadClass(name, false);
+				}
+
+				if(resolve) {
+					this.resolveClass(response);
+				}
+
+				return response;
+			}
+		}
+
+		/**
+		 * @param name
+		 * @return the class defined from the bytes on the parent classpath.
+		 * @throws ClassNotFoundException
+		 */
+		private Class<?> define(String name) throws ClassNotFoundException {
+			try(InputStream in = this.getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+				if(in == null) {
+					throw new ClassNotFoundException(name);
+				}
+
+				byte[] bytes = in.readAllBytes();
+
+				return this.defineClass(name, bytes, 0, bytes.length);
+			}
+			catch(IOException e) {
+				throw new ClassNotFoundException(name, e);
+			}
+		}
+	}
+
+	/**
+	 * constructor
+	 */
+	public TestForecastWithoutSpring() {
+	}
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void testForecastWithoutSpring() throws Exception {
+		ClassLoader loader = new WithoutSpringClassLoader(this.getClass().getClassLoader());
+
+		Class<?> forecastDateClass = loader.loadClass(ForecastDate.class.getName());
+		Class<? extends Enum> criteriaClass = (Class<? extends Enum>) loader.loadClass(ForecastCriteriaEnum.class.getName());
+		Class<? extends Enum> directionClass = (Class<? extends Enum>) loader.loadClass(ForecastDirectionEnum.class.getName());
+
+		assertTrue(forecastDateClass.getClassLoader() == loader, "ForecastDate was not loaded without Spring.");
+
+		Object withoutSpring = forecastDateClass.getConstructor().newInstance();
+
+		ForecastDate forecastDate = new ForecastDate();
+
+		int first = forecastDate.toEpochDay(Calendar.getInstance().get(Calendar.YEAR) + 1, Calendar.JANUARY, 1);
+
+		for(ForecastDirectionEnum direction : ForecastDirectionEnum.values()) {
+			Object criteria = Enum.valueOf(criteriaClass, ForecastCriteriaEnum.ALL_CRITERIA.name());
+			Object loadedDirection = Enum.valueOf(directionClass, direction.name());
+
+			for(int epochDay=first; epochDay < first + 366; epochDay++) {
+				int forecast = (Integer) forecastDateClass.getMethod("forecastEpochDay", int.class, criteriaClass, directionClass).invoke(withoutSpring, epochDay, criteria, loadedDirection);
+
+				assertTrue(forecast == forecastDate.forecastEpochDay(epochDay, ForecastCriteriaEnum.ALL_CRITERIA, direction), direction + " forecast differs without Spring.");
+			}
+		}
+	}
+
+	@Test
+	public void testLifecycleNeedsSpring() {
+		ClassLoader loader = new WithoutSpringClassLoader(this.getClass().getClassLoader());
+
+		// Only the Spring lifecycle adapter needs Spring, which the loader hides.
+		assertThrows(NoClassDefFoundError.class, () -> Class.forName(ForecastWarmUpLifecycle.class.getName(), true, loader), "Spring was visible to the loader.");
+	}
+}
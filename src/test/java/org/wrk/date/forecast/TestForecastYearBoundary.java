@@ -0,0 +1,138 @@
+package org.wrk.date.forecast;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Calendar;
+
+import org.junit.jupiter.api.Test;
+import org.wrk.date.holiday.ObservedHolidays;
+
+/**
+ * <h3>TestForecastYearBoundary</h3>
+ * <p>
+ * Forecasts around New Year for every criteria and direction.<br>
+ * Holidays are checked against the observed holidays cloned for the date year and both neighbouring years, so New
+ * Year's Day observed on December 31 is a holiday of the old year as well.
+ * </p>
+ * @author Kelly Willard
+ */
+public class TestForecastYearBoundary {
+
+	private static final int FIRST_YEAR = 1990;
+
+	private static final int LAST_YEAR = 2100;
+
+	/**
+	 * constructor
+	 */
+	public TestForecastYearBoundary() {
+	}
+
+	/**
+	 * @param holidays
+	 * @param forecastDate
+	 * @param epochDay
+	 * @param criteria
+	 * @return true if the date meets the criteria according to the observed holidays of any neighbouring year.
+	 * @throws Exception
+	 */
+	private boolean isCriteriaMet(ObservedHolidays holidays, ForecastDate forecastDate, int epochDay, ForecastCriteriaEnum criteria) throws Exception {
+		Calendar date = forecastDate.toCalendar(epochDay);
+		int year = date.get(Calendar.YEAR);
+
+		boolean isMet = false;
+
+		if(forecastDate.avoidHoliday(criteria)) {
+			isMet = holidays.clone(year - 1).isHoliday(date) || holidays.clone(year).isHoliday(date) || holidays.clone(year + 1).isHoliday(date);
+		}
+
+		if(!isMet && forecastDate.avoidWeekend(criteria)) {
+			ForecastCriteriaEnum weekEnd = forecastDate.weekEndCriteria(criteria);
+
+			isMet = weekEnd == ForecastCriteriaEnum.SATURDAY && forecastDate.isSaturday(epochDay)
+					|| weekEnd == ForecastCriteriaEnum.SUNDAY && forecastDate.isSunday(epochDay)
+					|| weekEnd == ForecastCriteriaEnum.WEEKEND && forecastDate.isWeekEnd(epochDay);
+		}
+
+		return isMet;
+	}
+
+	/**
+	 * <p>Forecast every day from December 20 to January 10 of every year and check the walk.</p>
+	 * @param holidays
+	 * @throws Exception
+	 */
+	private void assertYearBoundaries(ObservedHolidays holidays) throws Exception {
+		ForecastDate forecastDate = new ForecastDate(holidays);
+
+		for(int year=FIRST_YEAR; year <= LAST_YEAR; year++) {
+			int first = forecastDate.toEpochDay(year - 1, Calendar.DECEMBER, 20);
+			int last = forecastDate.toEpochDay(year, Calendar.JANUARY, 10);
+
+			for(int epochDay=first; epochDay <= last; epochDay++) {
+				for(ForecastCriteriaEnum criteria : ForecastCriteriaEnum.values()) {
+					if(!forecastDate.criteriaNone(criteria)) {
+						int before = forecastDate.forecastEpochDay(epochDay, criteria, ForecastDirectionEnum.BEFORE);
+						int after = forecastDate.forecastEpochDay(epochDay, criteria, ForecastDirectionEnum.AFTER);
+
+						String label = forecastDate.toCalendar(epochDay).getTime() + " " + criteria;
+
+						assertTrue(before <= epochDay && epochDay <= after, label + " walked the wrong way.");
+
+						assertTrue(!this.isCriteriaMet(holidays, forecastDate, before, criteria), label + " BEFORE meets the criteria.");
+
+						assertTrue(!this.isCriteriaMet(holidays, forecastDate, after, criteria), label + " AFTER meets the criteria.");
+
+						// Every day skipped meets the criteria.
+						for(int day=before + 1; day < after; day++) {
+							assertTrue(this.isCriteriaMet(holidays, forecastDate, day, criteria), label + " skipped an available day.");
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testYearBoundariesSaturdayObserved() throws Exception {
+		ObservedHolidays holidays = new ObservedHolidays();
+		holidays.init();
+
+		this.assertYearBoundaries(holidays);
+	}
+
+	@Test
+	public void testYearBoundariesSaturdayNotObserved() throws Exception {
+		ObservedHolidays holidays = new ObservedHolidays();
+		holidays.setSaturdayObservable(false);
+		holidays.init();
+
+		this.assertYearBoundaries(holidays);
+	}
+
+	@Test
+	public void testNewYearObservedInOldYear() {
+		ForecastDate forecastDate = new ForecastDate();
+
+		int observedInOldYear = 0;
+
+		for(int year=FIRST_YEAR; year <= LAST_YEAR; year++) {
+			Calendar observed = forecastDate.getObservedHolidays().clone(year).getNewYearsDay();
+
+			int epochDay = forecastDate.toEpochDay(observed);
+
+			assertTrue(!forecastDate.isBusinessDay(epochDay, ForecastCriteriaEnum.HOLIDAY), observed.getTime() + " New Year's Day is a business day.");
+
+			// Forecasting back from the observed day, or forward from the day before it, never lands on it.
+			assertTrue(forecastDate.forecastEpochDay(epochDay, ForecastCriteriaEnum.HOLIDAY, ForecastDirectionEnum.BEFORE) < epochDay, observed.getTime() + " BEFORE kept the holiday.");
+
+			assertTrue(forecastDate.forecastEpochDay(epochDay - 1, ForecastCriteriaEnum.ALL_CRITERIA, ForecastDirectionEnum.AFTER) != epochDay, observed.getTime() + " AFTER landed on the holiday.");
+
+			if(observed.get(Calendar.YEAR) < year) {
+				observedInOldYear++;
+			}
+		}
+
+		assertTrue(0 < observedInOldYear, "No New Year's Day observed in the old year.");
+	}
+}
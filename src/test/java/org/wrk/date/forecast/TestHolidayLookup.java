@@ -0,0 +1,71 @@
+package org.wrk.date.forecast;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Calendar;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * <h3>TestHolidayLookup</h3>
+ * <p>A holiday year answers exactly for its holidays at every density, from none to every day of its window.</p>
+ *
+ * @author Kelly Willard
+ */
+public class TestHolidayLookup {
+
+	private final int iyear = Calendar.getInstance().get(Calendar.YEAR);
+
+	/**
+	 * constructor
+	 */
+	public TestHolidayLookup() {
+	}
+
+	/**
+	 * @param holidays
+	 * @return random epoch days within the year and its margins.
+	 */
+	private int[] randomHolidays(int holidays) {
+		SplittableRandom random = new SplittableRandom(holidays);
+
+		int first = EpochDays.of(iyear, Calendar.JANUARY, 1) - 7;
+
+		int[] response = new int[holidays];
+		for(int position=0; position < holidays; position++) {
+			response[position] = first + random.nextInt(379);
+		}
+
+		return response;
+	}
+
+	@Test
+	public void testLookupAtAnyDensity() {
+		int first = EpochDays.of(iyear - 1, Calendar.DECEMBER, 1);
+		int last = EpochDays.of(iyear + 1, Calendar.JANUARY, 31);
+
+		for(int holidays : new int[] { 0, 1, 6, 11, 24, 52, 180, 379, 1000 }) {
+			int[] epochDays = this.randomHolidays(holidays);
+
+			HolidayYear holidayYear = HolidayYear.of(iyear, epochDays);
+
+			// Reference set of the holidays, duplicates counted once.
+			BitSet expected = new BitSet();
+			for(int epochDay : epochDays) {
+				expected.set(epochDay - first);
+			}
+
+			assertTrue(holidayYear.getHolidayCount() == expected.cardinality(), "Holiday count differs for " + holidays + " holidays.");
+
+			assertTrue(Arrays.equals(holidayYear.toEpochDays(), expected.stream().map(day -> first + day).toArray()), "Holidays differ for " + holidays + " holidays.");
+
+			// Include days outside the window, which are never holidays.
+			for(int epochDay=first; epochDay <= last; epochDay++) {
+				assertTrue(holidayYear.isHoliday(epochDay) == expected.get(epochDay - first), "Lookup differs for " + holidays + " holidays.");
+			}
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package org.wrk.date.forecast;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.wrk.date.holiday.ObservedHolidays;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <h3>TestHolidayTable</h3>
+ * 
+ * @author Kelly Willard
+ */
+@ExtendWith(value = { SpringExtension.class })
+@ContextConfiguration(locations= {"/test-holiday-application-context.xml"})
+public class TestHolidayTable {
+	
+	@Autowired
+	@Getter @Setter private ForecastDate forecastCorpDate;
+	
+	/**
+	 * constructor
+	 */
+	public TestHolidayTable() {
+	}
+	
+	@Test
+	public void testHolidayTableMatchesYears() {
+		ForecastDate fd = new ForecastDate();
+		
+		HolidayTable table = fd.getHolidayTable(1900, 2200);
+		
+		Set<Integer> days = new HashSet<>();
+		
+		for(int iyear=1900; iyear <= 2200; iyear++) {
+			HolidayYear holidays = fd.getHolidayYear(iyear);
+			
+			for(int epochDay : holidays.toEpochDays()) {
+				// Holidays observed outside the range are not in the table.
+				if(table.covers(epochDay)) {
+					assertTrue(table.isHoliday(epochDay), "Holiday missing from table.");
+					
+					days.add(epochDay);
+				}
+			}
+		}
+		
+		assertTrue(table.size() == days.size(), "Table holds days that are not holidays.");
+	}
+	
+	@Test
+	public void testHolidayTableSorted() {
+		int[] holidays = this.getForecastCorpDate().getHolidayTable(2000, 2100).toEpochDays();
+		
+		for(int index=1; index < holidays.length; index++) {
+			assertTrue(holidays[index - 1] < holidays[index], "Table is not sorted.");
+		}
+	}
+	
+	@Test
+	public void testHolidayTableOutsideRange() {
+		ForecastDate fd = new ForecastDate();
+		
+		HolidayTable table = fd.getHolidayTable(2030, 2031);
+		
+		assertFalse(table.coversYear(2032), "Table covers 2032.");
+		
+		assertFalse(table.isHoliday(fd.toEpochDay(2032, Calendar.DECEMBER, 25)), "Date outside table is a holiday.");
+		
+		assertTrue(table.isHoliday(fd.toEpochDay(2031, Calendar.DECEMBER, 25)), "Christmas is not a holiday.");
+	}
+	
+	@Test
+	public void testHolidayTableExtended() {
+		ForecastDate fd = new ForecastDate();
+		
+		fd.getHolidayTable(2030, 2040);
+		
+		HolidayTable table = fd.getHolidayTable(2050, 2060);
+		
+		assertTrue(table.coversYear(2030) && table.coversYear(2060), "Table was not extended.");
+	}
+	
+	@Test
+	public void testMaxPeriodLongHorizon() {
+		ForecastDate fd = new ForecastDate();
+		
+		fd.setMaxPeriod(150);
+		
+		fd.setForecastPeriodInYears(150);
+		
+		Calendar today = Calendar.getInstance();
+		
+		List<Calendar> list = fd.forecastDateOverPeriod(today);
+		
+		assertTrue(list.size() == 150, "Forecast list does not cover the period.");
+		
+		// The period warms the per-year tables the forecasts read, without building a range table.
+		assertTrue(fd.getHolidayTable() == null, "Period built an unused range table.");
+	}
+	
+	@Test
+	public void testPrecomputeYears() {
+		ForecastDate fd = new ForecastDate();
+		
+		assertTrue(fd.precompute(2030, 2060) == 31, "Years not precomputed.");
+		
+		assertTrue(fd.precompute(2060, 2030) == 0, "Reversed range precomputed.");
+		
+		assertTrue(fd.getHolidayTable() == null, "Precompute built a range table.");
+		
+		assertTrue(fd.getHolidayYear(2045).isHoliday(fd.toEpochDay(2045, Calendar.DECEMBER, 25)), "Christmas is not a holiday.");
+	}
+	
+	@Test
+	public void testMaxPeriodInvalid() {
+		ForecastDate fd = new ForecastDate();
+		
+		fd.setMaxPeriod(0);
+		
+		assertTrue(fd.getMaxPeriod() == fd.getDefaultMaxPeriod(), "Maximum period is not the default.");
+	}
+	
+	@Test
+	public void testHolidayYearFailure() {
+		ObservedHolidays failing = new ObservedHolidays() {
+			@Override
+			public boolean isHoliday(Calendar date) throws Exception {
+				throw new Exception("Holiday source unavailable");
+			}
+		};
+		
+		IllegalStateException e = assertThrows(IllegalStateException.class, () -> HolidayYear.of(failing, 2030), "Failure kept a table without holidays.");
+		
+		assertTrue("Holiday source unavailable".equals(e.getCause().getMessage()), "Cause was not wrapped.");
+	}
+}
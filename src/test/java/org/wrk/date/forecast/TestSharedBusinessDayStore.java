@@ -0,0 +1,92 @@
+package org.wrk.date.forecast;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Calendar;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * <h3>TestSharedBusinessDayStore</h3>
+ * <p>The off-heap calendars are checked against ForecastDate.isBusinessDay and ForecastDate.forecastEpochDay.</p>
+ *
+ * @author Kelly Willard
+ */
+@ExtendWith(value = { SpringExtension.class })
+@ContextConfiguration(locations= {"/test-holiday-application-context.xml"})
+public class TestSharedBusinessDayStore {
+
+	@Autowired
+	@Getter @Setter private ForecastDate forecastCorpDate;
+
+	private final int iyear = Calendar.getInstance().get(Calendar.YEAR);
+
+	/**
+	 * constructor
+	 */
+	public TestSharedBusinessDayStore() {
+	}
+
+	@Test
+	public void testDeduplicate() {
+		SharedBusinessDayStore store = new SharedBusinessDayStore(iyear, iyear + 2, 4);
+
+		int corp = store.register(this.getForecastCorpDate(), ForecastCriteriaEnum.ALL_CRITERIA);
+		int tenant = store.register(this.getForecastCorpDate(), ForecastCriteriaEnum.ALL_CRITERIA);
+		int weekEnd = store.register(this.getForecastCorpDate(), ForecastCriteriaEnum.WEEKEND);
+
+		assertTrue(corp == tenant, "Identical calendars are stored twice.");
+
+		assertTrue(corp != weekEnd, "Different calendars share a handle.");
+
+		assertTrue(store.getCalendars() == 2, "Unexpected number of stored calendars.");
+	}
+
+	@Test
+	public void testCapacity() {
+		SharedBusinessDayStore store = new SharedBusinessDayStore(iyear, iyear, 1);
+
+		store.register(this.getForecastCorpDate(), ForecastCriteriaEnum.ALL_CRITERIA);
+
+		assertThrows(IllegalStateException.class, () -> store.register(this.getForecastCorpDate(), ForecastCriteriaEnum.SATURDAY), "Full store accepted a calendar.");
+	}
+
+	@Test
+	public void testBusinessDays() {
+		SharedBusinessDayStore store = new SharedBusinessDayStore(iyear, iyear + 2, ForecastCriteriaEnum.values().length);
+
+		for(ForecastCriteriaEnum criteria : ForecastCriteriaEnum.values()) {
+			int handle = store.register(this.getForecastCorpDate(), criteria);
+
+			for(int epochDay=store.getFirstEpochDay(); epochDay <= store.getLastEpochDay(); epochDay++) {
+				assertTrue(store.isBusinessDay(handle, epochDay) == this.getForecastCorpDate().isBusinessDay(epochDay, criteria), "Business day differs.");
+			}
+
+			assertTrue(!store.isBusinessDay(handle, store.getFirstEpochDay() - 1), "Day before the range is a business day.");
+
+			assertTrue(!store.isBusinessDay(handle, store.getLastEpochDay() + 1), "Day after the range is a business day.");
+		}
+	}
+
+	@Test
+	public void testForecastEpochDay() {
+		SharedBusinessDayStore store = new SharedBusinessDayStore(iyear, iyear + 2, 1);
+
+		int handle = store.register(this.getForecastCorpDate(), ForecastCriteriaEnum.ALL_CRITERIA);
+
+		// Stay clear of the ends of the store range, no business day lies beyond them.
+		for(int epochDay=store.getFirstEpochDay() + 14; epochDay <= store.getLastEpochDay() - 14; epochDay++) {
+			for(ForecastDirectionEnum direction : ForecastDirectionEnum.values()) {
+				assertTrue(store.forecastEpochDay(handle, epochDay, direction) == this.getForecastCorpDate().forecastEpochDay(epochDay, ForecastCriteriaEnum.ALL_CRITERIA, direction), "Forecast differs for " + direction + ".");
+			}
+		}
+	}
+}